@@ -0,0 +1,124 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 Spring Context
+ * - 메모리 H2, SQL 로그 / 주문 DTO 결과 캐시 / 검색 색인 재생성 비활성화, Hibernate 통계 활성화 (SQL 실행 수 집계)
+ * - 설정은 명령행 인자(--key=value)로 전달 - application.yml 보다 우선 적용
+ *   (SpringApplicationBuilder.properties 는 기본값이므로 application.yml 에 같은 설정이 있으면 무시됨)
+ */
+public final class BenchmarkContext {
+
+    private static final String[] DEFAULT_PROPERTIES = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"
+            , "spring.jpa.properties.hibernate.generate_statistics=true"
+            , "spring.devtools.restart.enabled=false"
+            , "jpashop.query-cache.enabled=false"
+            , "jpashop.search.rebuild-on-startup=false"
+            , "logging.level.org.hibernate.SQL=warn"
+            , "logging.level.org.hibernate.type=warn"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param properties key=value 형태, DEFAULT_PROPERTIES 보다 나중에 전달되므로 같은 key 는 이 값이 적용됨
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        String[] args = Stream.concat(Arrays.stream(DEFAULT_PROPERTIES), Arrays.stream(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+
+        return new SpringApplicationBuilder(JpashopApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args);
+    }
+
+    public static TransactionTemplate transactionTemplate(ConfigurableApplicationContext context, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(readOnly);
+        return tx;
+    }
+
+    public static Statistics statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * 주문 orders 건 (주문당 상품 itemsPerOrder 개) 생성 - 고정 seed 로 매 실행 같은 데이터
+     */
+    public static void seedOrders(ConfigurableApplicationContext context, int orders, int itemsPerOrder) {
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate tx = transactionTemplate(context, false);
+        Random random = new Random(42);
+
+        List<Long> memberIds = tx.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, orders / 10); i++) {
+                Member member = new Member();
+                member.setName("bench member " + i);
+                member.setAddress(new Address("서울", "강가", "1234" + i));
+                em.persist(member);
+                ids.add(member.getId());
+            }
+            return ids;
+        });
+        List<Long> itemIds = tx.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                Book book = new Book();
+                book.setName("bench book " + i);
+                book.setPrice(10000);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                ids.add(book.getId());
+            }
+            return ids;
+        });
+
+        for (int from = 0; from < orders; from += 1000) {
+            int to = Math.min(orders, from + 1000);
+            tx.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    Member member = em.getReference(Member.class, memberIds.get(random.nextInt(memberIds.size())));
+                    Delivery delivery = new Delivery();
+                    delivery.setAddress(member.getAddress());
+
+                    OrderItem[] orderItems = new OrderItem[itemsPerOrder];
+                    for (int j = 0; j < itemsPerOrder; j++) {
+                        Item item = em.getReference(Item.class, itemIds.get(random.nextInt(itemIds.size())));
+                        orderItems[j] = OrderItem.createReservedOrderItem(item, 10000, 1 + random.nextInt(3));
+                    }
+                    em.persist(Order.createOrder(member, delivery, orderItems));
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 식별자 생성 전략별 INSERT 처리량 비교 (jpashop.id.strategy)
+ * - 한번 실행에 회원 / 배송 BATCH 건씩 하나의 트랜잭션으로 저장 (JDBC Batch 적용)
+ *
+ * 실행 : ./gradlew jmh -Pjmh.includes=IdGenerationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int BATCH = 100;
+
+    @Param({"pooled", "pooled-lo", "time"})
+    String strategy;
+    @Param({"1", "50"})
+    int incrementSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private EntityManager em;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // application.yml 의 Sequence 별 increment-size 도 같은 값으로 덮어써서 모든 Sequence 가 측정 조건대로 동작
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.jpashop.id.strategy=" + strategy
+                , "spring.jpa.properties.jpashop.id.increment-size=" + incrementSize
+                , "spring.jpa.properties.jpashop.id.orders_seq.increment-size=" + incrementSize
+                , "spring.jpa.properties.jpashop.id.order_item_seq.increment-size=" + incrementSize
+                , "spring.jpa.properties.jpashop.id.delivery_seq.increment-size=" + incrementSize
+        );
+        tx = BenchmarkContext.transactionTemplate(context, false);
+        statistics = BenchmarkContext.statistics(context);
+        em = context.getBean(EntityManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insert(SqlCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < BATCH; i++) {
+                Member member = new Member();
+                member.setName("bench member");
+                member.setAddress(new Address("서울", "강가", "123"));
+                em.persist(member);
+
+                Delivery delivery = new Delivery();
+                delivery.setAddress(member.getAddress());
+                em.persist(delivery);
+            }
+        });
+        counter.statements = statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,61 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문상품 IN 조회 분할 크기 / 병렬도 비교 (jpashop.query.in-chunk-size, in-parallelism)
+ *
+ * 실행 : ./gradlew jmh -Pjmh.includes=InChunkBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InChunkBenchmark {
+
+    @Param({"5000"})
+    int orders;
+    @Param({"100", "500", "1000"})
+    int chunkSize;
+    @Param({"1", "4"})
+    int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private OrderQueryRepository orderQueryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "jpashop.query.in-chunk-size=" + chunkSize
+                , "jpashop.query.in-parallelism=" + parallelism
+        );
+        BenchmarkContext.seedOrders(context, orders, 3);
+
+        readOnly = BenchmarkContext.transactionTemplate(context, true);
+        statistics = BenchmarkContext.statistics(context);
+        orderQueryRepository = context.getBean(OrderQueryRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void findAllByDto_optimization(SqlCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(readOnly.execute(status -> orderQueryRepository.findAllByDto_optimization()));
+        counter.statements = statistics.getPrepareStatementCount() - before;
+    }
+}
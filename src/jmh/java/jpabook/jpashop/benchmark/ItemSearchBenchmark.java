@@ -0,0 +1,55 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.search.ItemSearchIndex;
+import jpabook.jpashop.search.ItemSearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 검색 역색인 조회 시간 (ItemSearchIndex.search, DB / Spring Context 없음)
+ * - 합성 상품 items 건 : 상품명 "{단어} book {번호}", 저자 "{성} {번호 % 1000}"
+ * - 검색어 : 드문 토큰(spring 12345), 흔한 토큰(book), 짧은 앞부분 일치(b, 1), 흔한 토큰 AND 드문 토큰(book 777)
+ *   -> 흔한 토큰 / 짧은 검색어는 후보 상한(MAX_CANDIDATES)까지만 점수 계산 (결과의 truncated)
+ *
+ * 실행 : ./gradlew jmh -Pjmh.includes=ItemSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+
+    private static final String[] WORDS = {"jpa", "spring", "java", "kotlin", "database", "network", "algorithm", "design"};
+    private static final String[] AUTHORS = {"kim", "lee", "park", "choi", "jung"};
+
+    @Param({"1000000"})
+    int items;
+    @Param({"spring 12345", "book", "b", "1", "book 777"})
+    String query;
+    @Param({"20"})
+    int limit;
+
+    private ItemSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ItemSearchIndex();
+        for (long id = 1; id <= items; id++) {
+            Book book = new Book();
+            book.setId(id);
+            book.setName(WORDS[(int) (id % WORDS.length)] + " book " + id);
+            book.setPrice(10000);
+            book.setAuthor(AUTHORS[(int) (id % AUTHORS.length)] + " " + (id % 1000));
+            index.put(book);
+        }
+    }
+
+    @Benchmark
+    public ItemSearchResult search() {
+        return index.search(query, limit);
+    }
+}
@@ -0,0 +1,121 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 주문 조회 전략 비교 (OrderApiController v1 ~ v6)
+ * - Entity 조회 전략은 컨트롤러와 같이 LAZY 연관관계(회원, 배송, 주문상품, 상품)까지 초기화
+ * - 지표 : 평균 실행 시간, 할당량(gc profiler), SQL 실행 수(SqlCounter)
+ *
+ * 실행 : ./gradlew jmh -Pjmh.includes=OrderReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadBenchmark {
+
+    @Param({"100", "1000"})
+    int orders;
+    @Param({"2", "5"})
+    int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private OrderRepository orderRepository;
+    private OrderQueryRepository orderQueryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seedOrders(context, orders, itemsPerOrder);
+
+        readOnly = BenchmarkContext.transactionTemplate(context, true);
+        statistics = BenchmarkContext.statistics(context);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderQueryRepository = context.getBean(OrderQueryRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * v1, v2 - 주문 조회 후 LAZY 로딩 (default_batch_fetch_size 적용)
+     */
+    @Benchmark
+    public void findAllBySearch(SqlCounter counter, Blackhole bh) {
+        measure(counter, bh, () -> initialize(orderRepository.findAllBySearch(new OrderSearch(), null, orders)));
+    }
+
+    /**
+     * v3 - 회원, 배송, 주문상품, 상품 fetch join
+     */
+    @Benchmark
+    public void findAllWithItem(SqlCounter counter, Blackhole bh) {
+        measure(counter, bh, () -> initialize(orderRepository.findAllWithItem()));
+    }
+
+    /**
+     * v3.1 - xToOne fetch join + 주문상품 batch fetch
+     */
+    @Benchmark
+    public void findAllWithMemberDelivery(SqlCounter counter, Blackhole bh) {
+        measure(counter, bh, () -> initialize(orderRepository.findAllWithMemberDelivery()));
+    }
+
+    /**
+     * v4 - DTO 직접 조회 (주문별 주문상품 조회 N+1)
+     */
+    @Benchmark
+    public void findOrderQueryDtos(SqlCounter counter, Blackhole bh) {
+        measure(counter, bh, () -> orderQueryRepository.findOrderQueryDtos());
+    }
+
+    /**
+     * v5 - DTO 직접 조회 + 주문상품 IN 조회
+     */
+    @Benchmark
+    public void findAllByDto_optimization(SqlCounter counter, Blackhole bh) {
+        measure(counter, bh, () -> orderQueryRepository.findAllByDto_optimization());
+    }
+
+    /**
+     * v6 - 하나의 Join 쿼리로 평탄화 조회
+     */
+    @Benchmark
+    public void findAllByDto_flat(SqlCounter counter, Blackhole bh) {
+        measure(counter, bh, () -> orderQueryRepository.findAllByDto_flat());
+    }
+
+    private void measure(SqlCounter counter, Blackhole bh, Supplier<Object> strategy) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(readOnly.execute(status -> strategy.get()));
+        counter.statements = statistics.getPrepareStatementCount() - before;
+    }
+
+    private static List<Order> initialize(List<Order> orders) {
+        for (Order order : orders) {
+            order.getMember().getName();
+            order.getDelivery().getAddress();
+            order.getOrderItems().forEach(orderItem -> orderItem.getItem().getName());
+        }
+        return orders;
+    }
+}
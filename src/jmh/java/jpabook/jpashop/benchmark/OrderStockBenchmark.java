@@ -0,0 +1,139 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.CartLine;
+import jpabook.jpashop.service.ItemStockService;
+import jpabook.jpashop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 동시 주문 처리량 비교 (초당 주문 / 장바구니 수)
+ * - 같은 상품을 여러 스레드가 동시에 주문 : 일반 상품(item Row 조건부 UPDATE) vs Hot 상품(하위 카운터 분산)
+ * - 같은 상품 ITEMS_PER_CART 개를 장바구니 한번으로 주문 vs 단일 상품 주문 ITEMS_PER_CART 건
+ * - 동시 구매자 수 : @Threads(8)
+ * - 정확성(초과 판매 / 교착 상태 없음)은 ItemStockConcurrencyTest, CartCheckoutConcurrencyTest 에서 검증
+ * - 측정 결과는 저장소에 기록되어 있지 않음 (일반 / Hot 상품 비교는 아래 명령으로 직접 측정)
+ *
+ * 실행 : ./gradlew jmh -Pjmh.includes=OrderStockBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class OrderStockBenchmark {
+
+    private static final int ITEMS_PER_CART = 5;
+
+    @Param({"0", "16"})
+    int stockShardCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Long memberId;
+    private List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        orderService = context.getBean(OrderService.class);
+
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate tx = BenchmarkContext.transactionTemplate(context, false);
+        memberId = tx.execute(status -> {
+            Member member = new Member();
+            member.setName("bench member");
+            member.setAddress(new Address("서울", "강가", "1234"));
+            em.persist(member);
+            return member.getId();
+        });
+        itemIds = tx.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < ITEMS_PER_CART; i++) {
+                Book book = new Book();
+                book.setName("bench book " + i);
+                book.setPrice(10000);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                ids.add(book.getId());
+            }
+            return ids;
+        });
+
+        if (stockShardCount > 0) {
+            ItemStockService itemStockService = context.getBean(ItemStockService.class);
+            itemIds.forEach(itemId -> itemStockService.enableHotStock(itemId, stockShardCount));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 같은 상품 하나를 모든 스레드가 주문
+     */
+    @Benchmark
+    public Long orderSameItem() {
+        return retry(() -> orderService.order(memberId, itemIds.get(0), 1));
+    }
+
+    /**
+     * 장바구니 주문 - 상품 순서를 섞어서 주문 (ID 순서 Lock 으로 교착 상태 없음)
+     */
+    @Benchmark
+    public Long orderCart() {
+        List<CartLine> lines = new ArrayList<>(ITEMS_PER_CART);
+        for (Long itemId : shuffled()) {
+            lines.add(new CartLine(itemId, 1));
+        }
+        return retry(() -> orderService.orderCart(memberId, lines));
+    }
+
+    /**
+     * orderCart 와 같은 상품 / 수량을 단일 상품 주문 ITEMS_PER_CART 건으로 주문
+     */
+    @Benchmark
+    public Long orderItemsOneByOne() {
+        Long orderId = null;
+        for (Long itemId : shuffled()) {
+            orderId = retry(() -> orderService.order(memberId, itemId, 1));
+        }
+        return orderId;
+    }
+
+    private List<Long> shuffled() {
+        List<Long> copy = new ArrayList<>(itemIds);
+        Collections.shuffle(copy, ThreadLocalRandom.current());
+        return copy;
+    }
+
+    /**
+     * Lock 대기 시간 초과는 재시도 (처리량에는 성공한 주문만 포함)
+     */
+    private static Long retry(Supplier<Long> order) {
+        while (true) {
+            try {
+                return order.get();
+            } catch (ConcurrencyFailureException e) {
+                // 재시도
+            }
+        }
+    }
+}
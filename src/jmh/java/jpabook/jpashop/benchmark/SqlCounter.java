@@ -0,0 +1,15 @@
+package jpabook.jpashop.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 벤치마크 한번 실행의 SQL 실행 수 - JMH 결과에 보조 지표로 출력
+ * - 누적하지 않고 마지막 실행의 값을 기록 (같은 데이터에서는 매번 같은 값)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class SqlCounter {
+    public long statements;
+}
@@ -0,0 +1,288 @@
+package jpabook.jpashop;
+
+import jpabook.jpashop.domain.*;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import jpabook.jpashop.service.OrderSummaryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * -- 용량 테스트용 대량 데이터 생성 (datagen 프로필, prod 프로필에서는 생성되지 않음)
+ * 실행 : --spring.profiles.active=datagen (건수 / 스레드 / seed 는 application-datagen.yml)
+ *
+ * * 회원 members 명
+ * * 상품 items 개 (Book / Album / Movie 순환), 상품별로 카테고리 하나에 연결
+ * * 카테고리 categories 개 (루트 약 √categories 개 아래 트리 구성)
+ * * 주문 orders 건
+ *   * 주문당 상품 1 ~ max-items-per-order 개 (적은 개수일수록 많이)
+ *   * 상품은 Zipf 분포 (item-skew 가 클수록 일부 인기 상품에 집중)
+ *   * 최근 1년 사이 주문 일시, 약 5% 취소, 약 30% 배송완료
+ *
+ * - batch-size 건씩 하나의 트랜잭션으로 저장 (JDBC Batch), 배치들은 threads 개의 스레드에서 동시에 저장
+ * - 배치마다 (seed, 배치 시작 번호) 로 난수를 만들기 때문에 스레드 실행 순서와 관계없이 같은 내용이 생성됨
+ * - 주문은 이벤트 없이 직접 저장하므로 마지막에 주문 요약(OrderSummary)을 재생성 (/api/v7/orders 에서 조회되도록)
+ */
+@Slf4j
+@Component
+@Profile("datagen & !prod")
+public class DataGenerator implements ApplicationRunner {
+
+    private static final String[] CITIES = {"서울", "부산", "인천", "대구", "대전", "광주", "수원", "울산"};
+    private static final double CANCEL_RATE = 0.05;
+    private static final double COMPLETE_RATE = 0.30;
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final OrderSummaryService orderSummaryService;
+
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final int members;
+    private final int items;
+    private final int categories;
+    private final int orders;
+    private final int maxItemsPerOrder;
+    private final double itemSkew;
+
+    public DataGenerator(
+            EntityManager em
+            , JdbcTemplate jdbcTemplate
+            , PlatformTransactionManager transactionManager
+            , OrderSummaryService orderSummaryService
+            , @Value("${jpashop.datagen.seed:42}") long seed
+            , @Value("${jpashop.datagen.threads:4}") int threads
+            , @Value("${jpashop.datagen.batch-size:1000}") int batchSize
+            , @Value("${jpashop.datagen.members:10000}") int members
+            , @Value("${jpashop.datagen.items:1000}") int items
+            , @Value("${jpashop.datagen.categories:50}") int categories
+            , @Value("${jpashop.datagen.orders:100000}") int orders
+            , @Value("${jpashop.datagen.max-items-per-order:5}") int maxItemsPerOrder
+            , @Value("${jpashop.datagen.item-skew:1.1}") double itemSkew
+    ) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.orderSummaryService = orderSummaryService;
+        this.seed = seed;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.members = members;
+        this.items = items;
+        this.categories = categories;
+        this.orders = orders;
+        this.maxItemsPerOrder = maxItemsPerOrder;
+        this.itemSkew = itemSkew;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long startedAt = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            inBatches(executor, "member", members, this::createMembers);
+            inBatches(executor, "item", items, this::createItems);
+            // 주문 생성시 회원 / 상품 Proxy 를 초기화하지 않도록 배송 주소, 주문 가격을 ID 와 함께 미리 조회
+            List<Object[]> memberRows = rows("select m.id, m.address from Member m order by m.id");
+            long[] memberIds = memberRows.stream().mapToLong(row -> (Long) row[0]).toArray();
+            Address[] memberAddresses = memberRows.stream().map(row -> (Address) row[1]).toArray(Address[]::new);
+            List<Object[]> itemRows = rows("select i.id, i.price from Item i order by i.id");
+            long[] itemIds = itemRows.stream().mapToLong(row -> (Long) row[0]).toArray();
+            int[] itemPrices = itemRows.stream().mapToInt(row -> (Integer) row[1]).toArray();
+
+            long[] categoryIds = tx.execute(status -> createCategories());
+            inBatches(executor, "category_item", itemIds.length, (from, to, random) -> linkCategories(itemIds, categoryIds, from, to, random));
+
+            ZipfSampler itemSampler = new ZipfSampler(itemIds.length, itemSkew);
+            inBatches(executor, "order", orders, (from, to, random) -> createOrders(memberIds, memberAddresses, itemIds, itemPrices, itemSampler, from, to, random));
+        } finally {
+            executor.shutdown();
+        }
+        orderSummaryService.rebuild();
+        log.info("데이터 생성 완료 - 회원 {}, 상품 {}, 카테고리 {}, 주문 {} ({}ms)", members, items, categories, orders, System.currentTimeMillis() - startedAt);
+    }
+
+    private void createMembers(int from, int to, Random random) {
+        for (int i = from; i < to; i++) {
+            Member member = new Member();
+            member.setName("member" + i);
+            member.setAddress(new Address(CITIES[random.nextInt(CITIES.length)], "거리 " + random.nextInt(1000), String.format("%05d", random.nextInt(100000))));
+            em.persist(member);
+        }
+    }
+
+    private void createItems(int from, int to, Random random) {
+        for (int i = from; i < to; i++) {
+            Item item;
+            if (i % 3 == 0) {
+                Book book = new Book();
+                book.setAuthor("author" + random.nextInt(Math.max(1, items / 10)));
+                book.setIsbn(String.format("978%010d", i));
+                item = book;
+            } else if (i % 3 == 1) {
+                Album album = new Album();
+                album.setArtist("artist" + random.nextInt(Math.max(1, items / 10)));
+                item = album;
+            } else {
+                Movie movie = new Movie();
+                movie.setDirector("director" + random.nextInt(Math.max(1, items / 10)));
+                movie.setActor("actor" + random.nextInt(Math.max(1, items / 5)));
+                item = movie;
+            }
+            item.setName(item.getClass().getSimpleName() + " " + i);
+            item.setPrice(1000 * (1 + random.nextInt(50)));
+            item.setStockQuantity(1_000_000);
+            em.persist(item);
+        }
+    }
+
+    /**
+     * 카테고리 트리 - 루트 약 √categories 개, 나머지는 앞서 만든 카테고리 중 하나의 하위
+     */
+    private long[] createCategories() {
+        Random random = new Random(seed);
+        int roots = Math.max(1, (int) Math.sqrt(categories));
+
+        List<Category> created = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            Category category = new Category();
+            category.setName("category" + i);
+            if (i >= roots) {
+                created.get(random.nextInt(i)).addChildCategory(category);
+            }
+            em.persist(category);
+            created.add(category);
+        }
+        return created.stream().mapToLong(Category::getId).toArray();
+    }
+
+    private void linkCategories(long[] itemIds, long[] categoryIds, int from, int to, Random random) {
+        if (categoryIds.length == 0) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(new Object[]{categoryIds[random.nextInt(categoryIds.length)], itemIds[i]});
+        }
+        jdbcTemplate.batchUpdate("insert into category_item (category_id, item_id) values (?, ?)", rows);
+    }
+
+    /**
+     * 주문 생성 - 회원 / 상품은 초기화하지 않은 Proxy 로 연관관계만 설정 (배송 주소, 주문 가격은 미리 조회한 배열에서)
+     */
+    private void createOrders(long[] memberIds, Address[] memberAddresses, long[] itemIds, int[] itemPrices
+            , ZipfSampler itemSampler, int from, int to, Random random) {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        for (int i = from; i < to; i++) {
+            int memberIndex = random.nextInt(memberIds.length);
+            Member member = em.getReference(Member.class, memberIds[memberIndex]);
+
+            Delivery delivery = new Delivery();
+            delivery.setAddress(memberAddresses[memberIndex]);
+
+            OrderItem[] orderItems = new OrderItem[itemCount(random)];
+            for (int j = 0; j < orderItems.length; j++) {
+                int itemIndex = itemSampler.sample(random);
+                Item item = em.getReference(Item.class, itemIds[itemIndex]);
+                orderItems[j] = OrderItem.createReservedOrderItem(item, itemPrices[itemIndex], 1 + random.nextInt(3));
+            }
+
+            Order order = Order.createOrder(member, delivery, orderItems);
+            order.setOrderDate(now.minusSeconds(random.nextInt(365 * 24 * 60 * 60)));
+            double status = random.nextDouble();
+            if (status < CANCEL_RATE) {
+                order.setStatus(OrderStatus.CANCEL);
+            } else if (status < CANCEL_RATE + COMPLETE_RATE) {
+                delivery.setDeliveryStatus(DeliveryStatus.COMP);
+            }
+            em.persist(order);
+        }
+    }
+
+    /**
+     * 주문당 상품 수 - 1개가 가장 많고 개수가 늘수록 절반씩 감소
+     */
+    private int itemCount(Random random) {
+        int count = 1;
+        while (count < maxItemsPerOrder && random.nextBoolean()) {
+            count++;
+        }
+        return count;
+    }
+
+    private List<Object[]> rows(String jpql) {
+        return tx.execute(status -> em.createQuery(jpql, Object[].class).getResultList());
+    }
+
+    /**
+     * [0, total) 을 batchSize 단위로 나누어 배치마다 하나의 트랜잭션으로 동시에 실행
+     */
+    private void inBatches(ExecutorService executor, String name, int total, BatchWriter writer) throws Exception {
+        long startedAt = System.currentTimeMillis();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < total; from += batchSize) {
+            int batchFrom = from;
+            int batchTo = Math.min(total, from + batchSize);
+            futures.add(executor.submit(() -> tx.executeWithoutResult(
+                    status -> writer.write(batchFrom, batchTo, new Random(seed * 31 + name.hashCode() * 17L + batchFrom))
+            )));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        log.info("{} {}건 생성 ({}ms)", name, total, System.currentTimeMillis() - startedAt);
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(int from, int to, Random random);
+    }
+
+    /**
+     * Zipf 분포 표본 - 순위 k 의 확률이 1 / k^skew 에 비례 (누적 분포를 이진 탐색)
+     */
+    static class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double skew) {
+            cumulative = new double[size];
+            double sum = 0;
+            for (int k = 0; k < size; k++) {
+                sum += 1.0 / Math.pow(k + 1, skew);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < size; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
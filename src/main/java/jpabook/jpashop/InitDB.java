@@ -3,6 +3,7 @@ package jpabook.jpashop;
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.item.Book;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +20,11 @@ import javax.persistence.EntityManager;
  * * UserB
  *   * SPRING1 BOOK
  *   * SPRING2 BOOK
+ *
+ * - prod 프로필에서는 생성하지 않고, 대량 데이터가 필요한 경우 datagen 프로필 사용 (DataGenerator)
  */
 @Component
+@Profile("!prod & !datagen")
 @RequiredArgsConstructor
 public class InitDB {
 
@@ -56,6 +60,7 @@ public class InitDB {
             Delivery delivery = createDelivery(member);
             Order order = Order.createOrder(member, delivery, orderItem1, orderItem2);
             em.persist(order);
+            em.persist(OrderSummary.createOrderSummary(order));
         }
 
         public void dbInit2() {
@@ -76,6 +81,7 @@ public class InitDB {
             Delivery delivery = createDelivery(member);
             Order order = Order.createOrder(member, delivery, orderItem1, orderItem2);
             em.persist(order);
+            em.persist(OrderSummary.createOrderSummary(order));
         }
 
         private static Member createMember(String name, String city, String street, String zipcode) {
@@ -0,0 +1,35 @@
+package jpabook.jpashop;
+
+import jpabook.jpashop.service.OrderSummaryService;
+import jpabook.jpashop.service.OrderTotalBackfillService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * -- 주문 데이터 보정
+ * 실행 : --backfill-order-totals --rebuild-order-summary (둘 다 지정하면 주문 가격 보정 후 요약 재생성)
+ *
+ * * backfill-order-totals : 주문의 전체 주문 가격 / 주문 상품 종류 수 컬럼 보정 (컬럼 추가 이전에 저장된 주문)
+ * * rebuild-order-summary : 주문 요약 (OrderSummary) 재생성 (요약 없이 적재된 주문이 있는 경우)
+ *
+ * - 실행 중인 서버에서는 POST /api/v7/orders/rebuild 로도 요약 재생성 가능
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderMaintenanceRunner implements ApplicationRunner {
+
+    private final OrderTotalBackfillService orderTotalBackfillService;
+    private final OrderSummaryService orderSummaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("backfill-order-totals")) {
+            orderTotalBackfillService.backfill();
+        }
+        if (args.containsOption("rebuild-order-summary")) {
+            orderSummaryService.rebuild();
+        }
+    }
+}
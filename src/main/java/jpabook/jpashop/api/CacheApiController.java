@@ -0,0 +1,93 @@
+package jpabook.jpashop.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 2차 캐시 영역별 통계 조회
+ * - hit / miss / put 은 Hibernate Statistics, eviction 은 JCache 통계(JMX) 기준
+ * - Item, Member 의 수정(dirty checking, merge)은 Hibernate 가 READ_WRITE 전략으로 캐시에 반영
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class CacheApiController {
+
+    private final EntityManagerFactory emf;
+
+    @GetMapping("/api/cache/stats")
+    public GetCacheResponse cacheStats() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionDto> regions = new ArrayList<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+
+            regions.add(new CacheRegionDto(
+                    regionName
+                    , region.getHitCount()
+                    , region.getMissCount()
+                    , region.getPutCount()
+                    , region.getElementCountInMemory()
+                    , findEvictionCount(regionName)
+            ));
+        }
+
+        return new GetCacheResponse(statistics.isStatisticsEnabled(), regions);
+    }
+
+    /**
+     * JCache 통계 MBean 의 eviction 수 - 통계가 비활성화되어 MBean 이 없으면 null
+     */
+    private static Long findEvictionCount(String regionName) {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + regionName + ",*"), null);
+
+            for (ObjectName name : names) {
+                return ((Number) mBeanServer.getAttribute(name, "CacheEvictions")).longValue();
+            }
+        } catch (JMException e) {
+            log.warn("JCache 통계 조회 실패 - region={}", regionName, e);
+        }
+        return null;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class GetCacheResponse {
+        private boolean statisticsEnabled;
+        private List<CacheRegionDto> regions;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CacheRegionDto {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private long elementCount;
+        private Long evictionCount;
+    }
+}
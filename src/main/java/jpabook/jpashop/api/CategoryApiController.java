@@ -0,0 +1,104 @@
+package jpabook.jpashop.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jpabook.jpashop.repository.category.CategoryNode;
+import jpabook.jpashop.repository.item.ItemListDto;
+import jpabook.jpashop.service.CategoryService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * 카테고리 트리 API
+ */
+@RestController
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private final CategoryService categoryService;
+
+    /**
+     * 카테고리 트리 조회 - 메모리에 캐시된 트리 (카테고리 등록 / 이동 시 무효화)
+     *
+     * 호출 Url : http://localhost:8080/api/v1/categories
+     */
+    @GetMapping("/api/v1/categories")
+    public List<CategoryNode> categories() {
+        return categoryService.findTree();
+    }
+
+    /**
+     * 카테고리 등록 API (parentId 가 없으면 루트)
+     *
+     * 호출 Url : http://localhost:8080/api/v1/categories
+     */
+    @PostMapping("/api/v1/categories")
+    public CreateCategoryResponse createCategory(@RequestBody @Valid CreateCategoryRequest request) {
+        return new CreateCategoryResponse(categoryService.create(request.getName(), request.getParentId()));
+    }
+
+    /**
+     * 상위 카테고리 변경 API - 하위 트리 전체가 함께 이동
+     *
+     * 호출 Url : http://localhost:8080/api/v1/categories/{id}/parent
+     */
+    @PutMapping("/api/v1/categories/{id}/parent")
+    public void moveCategory(
+            @PathVariable("id") Long id
+            , @RequestBody @Valid MoveCategoryRequest request
+    ) {
+        categoryService.move(id, request.getParentId());
+    }
+
+    /**
+     * 하위 트리 전체의 상품 조회 - 한번의 조회, 상품 ID 기준 Keyset(Cursor) 페이징
+     * - 응답의 next 값을 다음 요청의 cursor 로 전달, next 가 없으면 마지막 페이지
+     *
+     * 호출 Url : http://localhost:8080/api/v1/categories/{id}/items?limit=100
+     */
+    @GetMapping("/api/v1/categories/{id}/items")
+    public CategoryItemsResponse categoryItems(
+            @PathVariable("id") Long id
+            , @RequestParam(value = "cursor", required = false) String cursor
+            , @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        CursorToken.validateLimit(limit);
+        List<ItemListDto> items = categoryService.findSubtreeItems(id, CursorToken.decode(cursor), limit);
+
+        String next = items.size() < limit ? null : CursorToken.encode(items.get(items.size() - 1).getId());
+        return new CategoryItemsResponse(items, next);
+    }
+
+    @Data
+    static class CreateCategoryRequest {
+        @NotEmpty
+        private String name;
+        private Long parentId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateCategoryResponse {
+        private Long id;
+    }
+
+    @Data
+    static class MoveCategoryRequest {
+        @NotNull
+        private Long parentId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CategoryItemsResponse {
+        private List<ItemListDto> data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String next;    // 다음 페이지 cursor (Keyset 페이징)
+    }
+}
@@ -0,0 +1,60 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset 페이징용 Cursor 토큰
+ * - 마지막으로 조회한 식별자(ID)를 클라이언트가 해석하지 않도록 Base64(URL Safe) 형태로 감싸서 전달
+ * - 해석할 수 없는 cursor, 범위를 벗어난 limit 은 InvalidPageRequestException (400 응답)
+ */
+public final class CursorToken {
+
+    public static final int MAX_LIMIT = 1000;      // 한 페이지 최대 조회 수
+
+    private static final String PREFIX = "id:";
+
+    private CursorToken() {}
+
+    public static String encode(Long lastId) {
+        if (lastId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("유효하지 않은 cursor 입니다.", e);
+        }
+
+        if (!decoded.startsWith(PREFIX)) {
+            throw new InvalidPageRequestException("유효하지 않은 cursor 입니다.");
+        }
+
+        try {
+            return Long.valueOf(decoded.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidPageRequestException("유효하지 않은 cursor 입니다.", e);
+        }
+    }
+
+    /**
+     * 한 페이지 조회 수 검증 (1 ~ MAX_LIMIT)
+     */
+    public static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("limit 은 1 ~ " + MAX_LIMIT + " 사이여야 합니다.");
+        }
+    }
+}
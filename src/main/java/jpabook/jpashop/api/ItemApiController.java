@@ -0,0 +1,82 @@
+package jpabook.jpashop.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jpabook.jpashop.domain.item.ItemType;
+import jpabook.jpashop.repository.item.ItemListDto;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.ItemStockService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private final ItemService itemService;
+    private final ItemStockService itemStockService;
+
+    /**
+     * 상품 목록 - DTO 직접 조회, 상품 ID 기준 Keyset(Cursor) 페이징, type 으로 상품 종류 (dtype) 검색
+     * - 응답의 next 값을 다음 요청의 cursor 로 전달, next 가 없으면 마지막 페이지
+     *
+     * 호출 Url : http://localhost:8080/api/v1/items?type=BOOK&limit=100
+     */
+    @GetMapping("/api/v1/items")
+    public ItemListResponse items(
+            @RequestParam(value = "cursor", required = false) String cursor
+            , @RequestParam(value = "type", required = false) List<ItemType> types
+            , @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        CursorToken.validateLimit(limit);
+        List<ItemListDto> items = itemService.findItemPage(types, CursorToken.decode(cursor), limit);
+
+        String next = items.size() < limit ? null : CursorToken.encode(items.get(items.size() - 1).getId());
+        return new ItemListResponse(items, next);
+    }
+
+    /**
+     * Hot 상품 전환 API (관리용) - 재고를 stockShardCount 개의 하위 카운터로 분산, 0 이면 일반 상품으로 되돌림
+     * - 주문이 몰리는 상품만 전환 (전환 / 해제 중에는 item Row 를 잠금)
+     *
+     * 호출 Url : http://localhost:8080/api/v1/items/{id}/hot-stock
+     */
+    @PutMapping("/api/v1/items/{id}/hot-stock")
+    public UpdateHotStockResponse updateHotStock(
+            @PathVariable("id") Long id
+            , @RequestBody @Valid UpdateHotStockRequest request
+    ) {
+        if (request.getStockShardCount() == 0) {
+            itemStockService.disableHotStock(id);
+        } else {
+            itemStockService.enableHotStock(id, request.getStockShardCount());
+        }
+        return new UpdateHotStockResponse(id, request.getStockShardCount());
+    }
+
+    @Data
+    static class UpdateHotStockRequest {
+        @Min(0)
+        private int stockShardCount;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class UpdateHotStockResponse {
+        private Long id;
+        private int stockShardCount;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ItemListResponse {
+        private List<ItemListDto> data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String next;    // 다음 페이지 cursor (Keyset 페이징)
+    }
+}
@@ -0,0 +1,73 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.exception.InvalidPageRequestException;
+import jpabook.jpashop.search.ItemSearchHit;
+import jpabook.jpashop.search.ItemSearchResult;
+import jpabook.jpashop.search.ItemSearchService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 상품 검색 API - 메모리 역색인 조회 (DB 조회 없음)
+ */
+@RestController
+@RequiredArgsConstructor
+public class ItemSearchApiController {
+
+    private static final int MAX_LIMIT = 100;     // 검색 결과 최대 건수
+
+    private final ItemSearchService itemSearchService;
+
+    /**
+     * 상품명, 저자 / ISBN, 아티스트, 감독 / 배우 검색 (토큰 앞부분 일치, 점수 높은 순)
+     * - limit 은 1 ~ MAX_LIMIT (범위를 벗어나면 400)
+     * - 일치하는 상품이 너무 많아 일부 후보만 점수 계산한 경우 truncated = true
+     *
+     * 호출 Url : http://localhost:8080/api/v1/items/search?q=jpa&limit=20
+     */
+    @GetMapping("/api/v1/items/search")
+    public ItemSearchResponse search(
+            @RequestParam("q") String query
+            , @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("limit 은 1 ~ " + MAX_LIMIT + " 사이여야 합니다.");
+        }
+
+        long startedAt = System.nanoTime();
+        ItemSearchResult result = itemSearchService.search(query, limit);
+        return new ItemSearchResponse(result.getHits().size(), result.isTruncated(), (System.nanoTime() - startedAt) / 1000, result.getHits());
+    }
+
+    /**
+     * 검색 색인 전체 재생성
+     *
+     * 호출 Url : http://localhost:8080/api/v1/items/search/rebuild
+     */
+    @PostMapping("/api/v1/items/search/rebuild")
+    public RebuildResponse rebuild() {
+        return new RebuildResponse(itemSearchService.rebuild());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ItemSearchResponse {
+        private int count;
+        private boolean truncated;
+        private long tookMicros;
+        private List<ItemSearchHit> data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class RebuildResponse {
+        private int count;
+    }
+}
@@ -0,0 +1,34 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.metrics.LatencyRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 지연 시간 API - Controller Mapping / Repository 메서드별 평균, p50, p90, p99, p99.9, 최대 (ms)
+ */
+@RestController
+@RequiredArgsConstructor
+public class LatencyApiController {
+
+    private final LatencyRegistry latencyRegistry;
+
+    /**
+     * current : 진행 중인 구간, previous : 직전 구간 (jpashop.latency.window-seconds)
+     *
+     * 호출 Url : http://localhost:8080/api/metrics/latency
+     */
+    @GetMapping("/api/metrics/latency")
+    public List<LatencyRegistry.LatencyMetric> latency() {
+        return latencyRegistry.snapshot();
+    }
+
+    @DeleteMapping("/api/metrics/latency")
+    public void resetLatency() {
+        latencyRegistry.reset();
+    }
+}
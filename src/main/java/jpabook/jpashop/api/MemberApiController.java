@@ -1,6 +1,10 @@
 package jpabook.jpashop.api;
 
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.member.query.MemberOrderStatsDto;
+import jpabook.jpashop.repository.member.query.MemberOrderStatsRepository;
+import jpabook.jpashop.repository.member.query.MemberOrderStatusStatsDto;
 import jpabook.jpashop.service.MemberService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,6 +23,7 @@ import java.util.stream.Collectors;
 public class MemberApiController {
 
     private final MemberService memberService;
+    private final MemberOrderStatsRepository memberOrderStatsRepository;
 
     /**
      * 회원 등록 API
@@ -106,6 +111,59 @@ public class MemberApiController {
         );
     }
 
+    /**
+     * 회원 주문 집계 - 주문 건수 / 주문 금액 합계를 DB 에서 상태별로 집계 (orderStatus, orderDateFrom, orderDateTo 로 범위 지정)
+     * 호출 Url : http://localhost:8080/api/v1/members/1/order-stats?orderDateFrom=2023-01-01T00:00:00
+     */
+    @GetMapping("/api/v1/members/{id}/order-stats")
+    public MemberOrderStatsResponse memberOrderStats(
+            @PathVariable("id") Long id
+            , OrderSearch orderSearch
+    ) {
+        Member member = memberService.findOne(id);
+        if (member == null) {
+            throw new IllegalArgumentException("존재하지 않는 회원입니다.");
+        }
+
+        List<MemberOrderStatusStatsDto> byStatus = memberOrderStatsRepository.findStatusStats(id, orderSearch);
+        return new MemberOrderStatsResponse(
+                member.getId()
+                , member.getName()
+                , byStatus.stream().mapToLong(MemberOrderStatusStatsDto::getOrderCount).sum()
+                , byStatus.stream().mapToLong(MemberOrderStatusStatsDto::getTotalSpend).sum()
+                , byStatus
+        );
+    }
+
+    /**
+     * 주문 금액 상위 회원 (offset 페이징)
+     * 호출 Url : http://localhost:8080/api/v1/members/top-spenders?orderStatus=ORDER&offset=0&limit=20
+     */
+    @GetMapping("/api/v1/members/top-spenders")
+    public GetMemberResponse topSpenders(
+            OrderSearch orderSearch
+            , @RequestParam(value = "offset", defaultValue = "0") int offset
+            , @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        List<MemberOrderStatsDto> collect = memberOrderStatsRepository.findTopSpenders(orderSearch, offset, limit);
+
+        return new GetMemberResponse(
+                "Top Spenders"
+                , collect.size()
+                , collect
+        );
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class MemberOrderStatsResponse {
+        private Long memberId;
+        private String name;
+        private long orderCount;
+        private long totalSpend;
+        private List<MemberOrderStatusStatsDto> byStatus;
+    }
+
     @Data
     @AllArgsConstructor
     static class GetMemberResponse<T> {
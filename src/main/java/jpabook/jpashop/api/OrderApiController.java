@@ -1,22 +1,28 @@
 package jpabook.jpashop.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
-import jpabook.jpashop.repository.order.query.OrderFlatDto;
-import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
-import jpabook.jpashop.repository.order.query.OrderQueryDto;
 import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.OrderExportFormat;
+import jpabook.jpashop.service.OrderExportService;
+import jpabook.jpashop.service.OrderSummaryService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,10 +36,12 @@ public class OrderApiController {
 
     private final OrderRepository orderRepository;
     private final OrderQueryRepository orderQueryRepository;
+    private final OrderExportService orderExportService;
+    private final OrderSummaryService orderSummaryService;
 
     @GetMapping("/api/v1/orders")
     public GetOrderResponse ordersV1() {
-        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        List<Order> all = orderRepository.findAllBySearch(new OrderSearch(), null, CursorToken.MAX_LIMIT);
 
         for (Order order : all) {
             order.getMember().getName();
@@ -52,7 +60,7 @@ public class OrderApiController {
      */
     @GetMapping("/api/v2/orders")
     public GetOrderResponse ordersV2() {
-        List<Order> orders = orderRepository.findAllByString(new OrderSearch());
+        List<Order> orders = orderRepository.findAllBySearch(new OrderSearch(), null, CursorToken.MAX_LIMIT);
 
         List<OrdersDto> collection = orders.stream().map(o -> new OrdersDto(o)).collect(Collectors.toList());
         return new GetOrderResponse(collection);
@@ -83,6 +91,24 @@ public class OrderApiController {
         return new GetOrderResponse(collection);
     }
 
+    /**
+     * 1:n 인경우 Keyset(Cursor) 페이징 처리
+     * - 응답의 next 값을 다음 요청의 cursor 로 전달, next 가 없으면 마지막 페이지
+     * - orderItems 는 offset 방식과 동일하게 default_batch_fetch_size 로 페이지 단위 IN 조회
+     */
+    @GetMapping("/api/v3.2/orders")
+    public GetOrderResponse ordersV3_cursor(
+            @RequestParam(value = "cursor", required = false) String cursor
+            , @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        CursorToken.validateLimit(limit);
+        List<Order> orders = orderRepository.findAllWithMemberDeliveryAfter(CursorToken.decode(cursor), limit);
+
+        List<OrdersDto> collection = orders.stream().map(o -> new OrdersDto(o)).collect(Collectors.toList());
+        String next = orders.size() < limit ? null : CursorToken.encode(orders.get(orders.size() - 1).getId());
+        return new GetOrderResponse(collection, next);
+    }
+
     /**
      * @xToMany 컬렉션 조회 DTO 직접 조회
      */
@@ -105,7 +131,7 @@ public class OrderApiController {
         return new GetOrderResponse(orderQueryRepository.findAllByDto_flat());
         */
 
-        // 한번으로 조회하는 구문 - 1:N Join으로 인한 중복데이터 보정 (코드로 제거)
+        /* // 한번으로 조회하는 구문 - 1:N Join으로 인한 중복데이터 보정 (groupingBy 로 제거, Row 마다 Key 객체 생성 및 응답 순서 보장 X)
         List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
 
         return new GetOrderResponse(flats.stream()
@@ -114,13 +140,65 @@ public class OrderApiController {
                 )).entrySet().stream()
                 .map(e -> new OrderQueryDto(e.getKey().getOrderId(), e.getKey().getName(), e.getKey().getOrderDate(), e.getKey().getOrderStatus(), e.getKey().getAddress(), e.getValue()))
                 .collect(Collectors.toList()));
+        */
+
+        // 한번으로 조회하는 구문 - orderId 정렬 후 한번의 순회로 중복데이터 보정 (코드로 제거)
+        return new GetOrderResponse(orderQueryRepository.findAllByDto_flatGrouped());
+    }
+
+    /**
+     * 전체 주문 내보내기 (format = ndjson / csv)
+     * - v5, v6 와 달리 전체 결과를 List 로 모으지 않고 조회되는 Row 를 응답에 바로 기록 (주문 건수와 관계없이 일정한 Heap 사용)
+     */
+    @GetMapping("/api/v6/orders/export")
+    public void exportOrders(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format
+            , HttpServletResponse response
+    ) throws IOException {
+        OrderExportFormat exportFormat = OrderExportFormat.from(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        orderExportService.export(response.getWriter(), exportFormat);
+    }
+
+    /**
+     * 주문 요약 (Read Model) 조회 - order_summary 한 테이블만 PK 순서로 읽음 (Join / 컬렉션 조회 없음)
+     * - 요약은 주문 / 취소 / 회원명 변경과 같은 트랜잭션에서 갱신됨
+     * 호출 Url : http://localhost:8080/api/v7/orders?limit=100
+     */
+    @GetMapping("/api/v7/orders")
+    public GetOrderResponse ordersV7(
+            @RequestParam(value = "cursor", required = false) String cursor
+            , @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        CursorToken.validateLimit(limit);
+        List<OrderSummary> summaries = orderSummaryService.findSummaries(CursorToken.decode(cursor), limit);
+
+        List<OrderSummaryDto> collection = summaries.stream().map(OrderSummaryDto::new).collect(Collectors.toList());
+        String next = summaries.size() < limit ? null : CursorToken.encode(summaries.get(summaries.size() - 1).getOrderId());
+        return new GetOrderResponse(collection, next);
     }
 
+    /**
+     * 주문 요약 전체 재생성 (요약 테이블 구조 변경 / 대량 적재 후 사용)
+     * 호출 Url : http://localhost:8080/api/v7/orders/rebuild
+     */
+    @PostMapping("/api/v7/orders/rebuild")
+    public RebuildOrderSummaryResponse rebuildOrderSummary() {
+        return new RebuildOrderSummaryResponse(orderSummaryService.rebuild());
+    }
 
     @Data
     @AllArgsConstructor
     static class GetOrderResponse<T> {
         private T data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String next;    // 다음 페이지 cursor (Keyset 페이징)
+
+        public GetOrderResponse(T data) {
+            this.data = data;
+        }
     }
 
     @Data
@@ -163,4 +241,34 @@ public class OrderApiController {
             this.count = orderItem.getCount();
         }
     }
+
+    @Data
+    static class OrderSummaryDto {
+
+        private Long orderId;
+        private String name;
+        private LocalDateTime orderDate;
+        private OrderStatus orderStatus;
+        private Address address;
+        private int totalPrice;
+        private int itemCount;
+        private String items;
+
+        public OrderSummaryDto(OrderSummary summary) {
+            this.orderId = summary.getOrderId();
+            this.name = summary.getMemberName();
+            this.orderDate = summary.getOrderDate();
+            this.orderStatus = summary.getStatus();
+            this.address = summary.getAddress();
+            this.totalPrice = summary.getTotalPrice();
+            this.itemCount = summary.getItemCount();
+            this.items = summary.getItems();
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class RebuildOrderSummaryResponse {
+        private long count;
+    }
 }
@@ -0,0 +1,88 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.service.BulkCancelResult;
+import jpabook.jpashop.service.OrderLine;
+import jpabook.jpashop.service.OrderLineResult;
+import jpabook.jpashop.service.OrderService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 대량 주문 처리 API
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderBatchApiController {
+
+    private final OrderService orderService;
+
+    /**
+     * 일괄 주문 API - 하나의 트랜잭션에서 여러 주문을 JDBC Batch 로 저장, 주문 줄 단위로 성공 / 실패 반환
+     *
+     * 호출 Url : http://localhost:8080/api/orders/batch
+     */
+    @PostMapping("/api/orders/batch")
+    public BatchOrderResponse orderBatch(@RequestBody @Valid BatchOrderRequest request) {
+        List<OrderLine> lines = request.getLines().stream()
+                .map(l -> new OrderLine(l.getMemberId(), l.getItemId(), l.getCount()))
+                .collect(Collectors.toList());
+
+        List<OrderLineResult> results = orderService.orderBatch(lines);
+
+        int successCount = (int) results.stream().filter(OrderLineResult::isSuccess).count();
+        return new BatchOrderResponse(successCount, results.size() - successCount, results);
+    }
+
+    /**
+     * 일괄 취소 API - 배송완료 / 이미 취소된 / 없는 주문은 건너뛰고 사유를 반환
+     *
+     * 호출 Url : http://localhost:8080/api/orders/cancel
+     */
+    @PostMapping("/api/orders/cancel")
+    public BulkCancelResult cancelOrders(@RequestBody @Valid BulkCancelRequest request) {
+        return orderService.cancelOrders(request.getOrderIds());
+    }
+
+    @Data
+    static class BatchOrderRequest {
+        @NotEmpty
+        @Size(max = 1000)
+        @Valid
+        private List<OrderLineRequest> lines;
+    }
+
+    @Data
+    static class OrderLineRequest {
+        @NotNull
+        private Long memberId;
+        @NotNull
+        private Long itemId;
+        private int count;
+    }
+
+    @Data
+    static class BulkCancelRequest {
+        @NotEmpty
+        @Size(max = 1000)
+        private List<@NotNull Long> orderIds;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class BatchOrderResponse {
+        private int successCount;
+        private int failCount;
+        private List<OrderLineResult> results;
+    }
+}
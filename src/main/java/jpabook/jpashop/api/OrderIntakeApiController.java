@@ -0,0 +1,64 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.service.OrderIntakeService;
+import jpabook.jpashop.service.OrderIntakeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 비동기 주문 접수 API
+ * - 접수 즉시 202 + 추적 ID 반환, 대기열이 가득 찬 경우 503
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderIntakeApiController {
+
+    private final OrderIntakeService orderIntakeService;
+
+    /**
+     * 호출 Url : http://localhost:8080/api/orders/async
+     */
+    @PostMapping("/api/orders/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SubmitOrderResponse submitOrder(@RequestBody @Valid SubmitOrderRequest request) {
+        String trackingId = orderIntakeService.submit(request.getMemberId(), request.getItemId(), request.getCount());
+        return new SubmitOrderResponse(trackingId, orderIntakeService.getQueueSize());
+    }
+
+    /**
+     * 처리 상태 조회 - QUEUED / COMPLETED (orderId) / FAILED (message)
+     *
+     * 호출 Url : http://localhost:8080/api/orders/async/{trackingId}
+     */
+    @GetMapping("/api/orders/async/{trackingId}")
+    public ResponseEntity<OrderIntakeStatus> orderStatus(@PathVariable("trackingId") String trackingId) {
+        OrderIntakeStatus status = orderIntakeService.findStatus(trackingId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @Data
+    static class SubmitOrderRequest {
+        @NotNull
+        private Long memberId;
+        @NotNull
+        private Long itemId;
+        private int count;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class SubmitOrderResponse {
+        private String trackingId;
+        private int queueSize;
+    }
+}
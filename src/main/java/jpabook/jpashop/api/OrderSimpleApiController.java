@@ -42,14 +42,14 @@ public class OrderSimpleApiController {
      */
     @GetMapping("/api/v1/simple-orders")
     public List<Order> ordersV1() {
-        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        List<Order> all = orderRepository.findAllBySearch(new OrderSearch(), null, CursorToken.MAX_LIMIT);
 
         return all;
     }
 
     @GetMapping("/api/v2/simple-orders")
     public GetOrderResponse ordersV2() {
-        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        List<Order> all = orderRepository.findAllBySearch(new OrderSearch(), null, CursorToken.MAX_LIMIT);
         List<SimpleOrderDto> collect = all.stream().map(m ->
                 SimpleOrderDto.initOrder().order(m).build()
         ).collect(Collectors.toList());
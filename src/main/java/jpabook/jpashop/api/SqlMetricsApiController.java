@@ -0,0 +1,36 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.metrics.SqlMetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * SQL 집계 API (prod 프로필 제외)
+ */
+@Profile("!prod")
+@RestController
+@RequiredArgsConstructor
+public class SqlMetricsApiController {
+
+    private final SqlMetricsRegistry sqlMetricsRegistry;
+
+    /**
+     * HTTP 요청 / Service 호출별 평균 SQL 실행 수, 조회 Row 수, Entity 로딩 수 - 평균 SQL 실행 수가 많은 순서
+     *
+     * 호출 Url : http://localhost:8080/api/metrics/sql
+     */
+    @GetMapping("/api/metrics/sql")
+    public List<SqlMetricsRegistry.SqlMetric> sqlMetrics() {
+        return sqlMetricsRegistry.snapshot();
+    }
+
+    @DeleteMapping("/api/metrics/sql")
+    public void resetSqlMetrics() {
+        sqlMetricsRegistry.reset();
+    }
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.config;
+
+import jpabook.jpashop.metrics.LatencyInterceptor;
+import jpabook.jpashop.metrics.LatencyRegistry;
+import jpabook.jpashop.metrics.RepositoryLatencyInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.annotation.AnnotationMatchingPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 지연 시간 히스토그램 (/api/metrics/latency)
+ * - Controller Mapping 별 : 요청 처리 ~ View 렌더링 완료 (HandlerInterceptor)
+ * - @Repository 메서드별 (AOP)
+ */
+@Configuration
+public class LatencyConfig implements WebMvcConfigurer {
+
+    private final LatencyRegistry latencyRegistry;
+
+    public LatencyConfig(@Value("${jpashop.latency.window-seconds:60}") int windowSeconds) {
+        this.latencyRegistry = new LatencyRegistry(windowSeconds);
+    }
+
+    @Bean(destroyMethod = "close")
+    public LatencyRegistry latencyRegistry() {
+        return latencyRegistry;
+    }
+
+    @Bean
+    public Advisor repositoryLatencyAdvisor() {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true), new RepositoryLatencyInterceptor(latencyRegistry));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LatencyInterceptor(latencyRegistry));
+    }
+
+    /**
+     * Mapping 이름을 미리 등록 (ex. "GET /api/v5/orders") - 처리 중에는 이름을 만들지 않음
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void registerMappings(ContextRefreshedEvent event) {
+        RequestMappingHandlerMapping handlerMapping = event.getApplicationContext().getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        handlerMapping.getHandlerMethods().forEach((info, handlerMethod) -> latencyRegistry.register(
+                handlerMethod.getMethod()
+                , methodsOf(info) + " " + String.join(", ", info.getPatternValues())
+        ));
+    }
+
+    private static String methodsOf(RequestMappingInfo info) {
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        if (methods.isEmpty()) {
+            return "ANY";
+        }
+        return methods.stream().map(Enum::name).sorted().collect(Collectors.joining(","));
+    }
+}
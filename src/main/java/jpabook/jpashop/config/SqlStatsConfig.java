@@ -0,0 +1,67 @@
+package jpabook.jpashop.config;
+
+import jpabook.jpashop.metrics.CountingDataSource;
+import jpabook.jpashop.metrics.EntityLoadCountingInterceptor;
+import jpabook.jpashop.metrics.SqlMetricsRegistry;
+import jpabook.jpashop.metrics.SqlStatsFilter;
+import jpabook.jpashop.metrics.TransactionalSqlStatsAspect;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+
+/**
+ * SQL 실행 수 / 조회 Row 수 / Entity 로딩 수 집계 (prod 프로필 제외)
+ * - HTTP 요청별 : 응답 Header + /api/metrics/sql
+ * - @Transactional Service 호출별 : /api/metrics/sql
+ */
+@Configuration
+@Profile("!prod")
+public class SqlStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !Proxy.isProxyClass(bean.getClass())) {
+                    return CountingDataSource.wrap((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+    }
+
+    @Bean
+    public SqlMetricsRegistry sqlMetricsRegistry() {
+        return new SqlMetricsRegistry();
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(
+            SqlMetricsRegistry sqlMetricsRegistry
+            , @Value("${jpashop.sql-stats.repeat-threshold:10}") int repeatThreshold
+    ) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(new SqlStatsFilter(sqlMetricsRegistry, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TransactionalSqlStatsAspect transactionalSqlStatsAspect(SqlMetricsRegistry sqlMetricsRegistry) {
+        return new TransactionalSqlStatsAspect(sqlMetricsRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package jpabook.jpashop.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual Thread 요청 처리 (jpashop.virtual-threads.enabled=true, JDK 21 이상)
+ * - Tomcat 요청 처리 스레드를 요청당 Virtual Thread 로 교체 -> Controller / @Transactional Service / Repository 가 모두 Virtual Thread 에서 실행
+ * - JDBC 대기 중에는 OS 스레드를 반납하므로 스레드 풀(server.tomcat.threads.max)이 아닌 Connection Pool 크기가 동시 DB 작업 수의 상한
+ *   -> spring.datasource.hikari.maximum-pool-size 로 DB 부하를 제한 (application-vthreads.yml)
+ * - sourceCompatibility 는 17 이므로 JDK 21 API 는 리플렉션으로 호출
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "jpashop.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig implements DisposableBean {
+
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Tomcat 요청을 Virtual Thread 에서 처리합니다.");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual Thread 는 JDK 21 이상에서 사용할 수 있습니다. java.version=" + System.getProperty("java.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual Thread Executor 생성 실패", e);
+        }
+    }
+}
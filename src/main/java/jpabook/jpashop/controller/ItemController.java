@@ -1,17 +1,25 @@
 package jpabook.jpashop.controller;
 
 import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.ItemType;
+import jpabook.jpashop.repository.item.ItemListDto;
 import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.ItemStockService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Controller
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final int PAGE_SIZE = 20;
+
     private final ItemService itemService;
+    private final ItemStockService itemStockService;
 
     @GetMapping("/items/new")
     public String createForm(Model model) {
@@ -29,9 +37,20 @@ public class ItemController {
         return "redirect:/";
     }
 
+    /**
+     * 상품 목록 - PAGE_SIZE 건씩 상품 ID 기준 Keyset 페이징 (after : 이전 페이지의 마지막 상품 ID)
+     */
     @GetMapping("/items")
-    public String list(Model model) {
-        model.addAttribute("items", itemService.findItems());
+    public String list(
+            @RequestParam(value = "after", required = false) Long after
+            , @RequestParam(value = "type", required = false) List<ItemType> types
+            , Model model
+    ) {
+        List<ItemListDto> items = itemService.findItemPage(types, after, PAGE_SIZE);
+
+        model.addAttribute("items", items);
+        model.addAttribute("types", types);
+        model.addAttribute("next", items.size() < PAGE_SIZE ? null : items.get(items.size() - 1).getId());
         return "/items/itemList";
     }
 
@@ -43,7 +62,7 @@ public class ItemController {
         form.setId(item.getId());
         form.setName(item.getName());
         form.setPrice(item.getPrice());
-        form.setStockQuantity(item.getStockQuantity());
+        form.setStockQuantity(itemStockService.getStockQuantity(item));
         form.setAuthor(item.getAuthor());
         form.setIsbn(item.getIsbn());
 
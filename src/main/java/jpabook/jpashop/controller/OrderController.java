@@ -1,55 +1,89 @@
 package jpabook.jpashop.controller;
 
-import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemType;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.item.ItemListDto;
+import jpabook.jpashop.service.CartLine;
 import jpabook.jpashop.service.ItemService;
 import jpabook.jpashop.service.MemberService;
 import jpabook.jpashop.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final int ITEM_PAGE_SIZE = 100;
+    private static final int ORDER_PAGE_SIZE = 100;
+
     private final OrderService orderService;
     private final MemberService memberService;
     private final ItemService itemService;
 
+    /**
+     * 주문 화면 - 상품 선택 목록은 ITEM_PAGE_SIZE 건씩 상품 ID 기준 Keyset 페이징 (after : 이전 페이지의 마지막 상품 ID)
+     * - 다음 상품 / 검색은 입력 중인 주문 화면 값(orderForm)을 함께 GET 으로 전달하여 선택한 상품과 수량을 유지
+     */
     @GetMapping("/order")
-    public String createForm(Model model) {
-        List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
-
-        model.addAttribute("members", members);
-        model.addAttribute("items", items);
-
+    public String createForm(
+            @ModelAttribute("orderForm") OrderForm form
+            , @RequestParam(value = "after", required = false) Long after
+            , @RequestParam(value = "type", required = false) List<ItemType> types
+            , Model model
+    ) {
+        populateForm(form, after, types, model);
         return "/order/orderForm";
     }
 
+    /**
+     * 상품 여러 줄을 하나의 주문으로 생성 - 상품을 선택하지 않은 줄은 제외
+     * - 회원 / 상품 미선택, 수량 누락, 재고 부족은 입력 값을 유지한 채 주문 화면에 오류로 표시
+     */
     @PostMapping("/order")
     public String order(
-            @RequestParam("memberId") Long memberId
-            , @RequestParam("itemId") Long itemId
-            , @RequestParam("count") int count
+            @ModelAttribute("orderForm") OrderForm form
+            , BindingResult result
+            , @RequestParam(value = "type", required = false) List<ItemType> types
+            , Model model
     ) {
-        orderService.order(memberId, itemId, count);
-        return "redirect:/orders";
+        List<CartLine> lines = form.toCartLines(result);
+        if (!result.hasErrors()) {
+            try {
+                orderService.orderCart(form.getMemberId(), lines);
+                return "redirect:/orders";
+            } catch (NotEnoughStockException e) {
+                result.reject("notEnoughStock", e.getMessage());
+            }
+        }
+
+        populateForm(form, null, types, model);
+        return "order/orderForm";
     }
 
+    /**
+     * 주문 목록 - ORDER_PAGE_SIZE 건씩 검색 정렬 순서로 Keyset 페이징 (after : 이전 페이지의 마지막 주문 ID)
+     */
     @GetMapping("/orders")
     public String orderList(
             @ModelAttribute("orderSearch") OrderSearch orderSearch
+            , @RequestParam(value = "after", required = false) Long after
             , Model model
     ) {
-        List<Order> orders = orderService.findOrders(orderSearch);
+        List<Order> orders = orderService.findOrders(orderSearch, after, ORDER_PAGE_SIZE);
         model.addAttribute("orders", orders);
+        model.addAttribute("next", orders.size() < ORDER_PAGE_SIZE ? null : orders.get(orders.size() - 1).getId());
 
         return "order/orderList";
     }
@@ -59,4 +93,25 @@ public class OrderController {
         orderService.cancelOrder(orderId);
         return "redirect:/orders";
     }
+
+    /**
+     * 주문 화면 모델 - 선택한 상품 중 현재 페이지에 없는 상품은 selectedItems 로 함께 전달 (선택 목록에 표시)
+     */
+    private void populateForm(OrderForm form, Long after, List<ItemType> types, Model model) {
+        List<ItemListDto> items = itemService.findItemPage(types, after, ITEM_PAGE_SIZE);
+        form.fillLines();
+
+        Set<Long> pageItemIds = items.stream().map(ItemListDto::getId).collect(Collectors.toSet());
+        Set<Long> otherItemIds = form.getItemId().stream()
+                .filter(id -> id != null && !pageItemIds.contains(id))
+                .collect(Collectors.toSet());
+        Map<Long, String> selectedItems = itemService.findItems(otherItemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Item::getName));
+
+        model.addAttribute("members", memberService.findMembers());
+        model.addAttribute("items", items);
+        model.addAttribute("selectedItems", selectedItems);
+        model.addAttribute("types", types);
+        model.addAttribute("next", items.size() < ITEM_PAGE_SIZE ? null : items.get(items.size() - 1).getId());
+    }
 }
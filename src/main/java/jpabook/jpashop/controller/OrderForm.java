@@ -0,0 +1,66 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.service.CartLine;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 화면 입력 - 장바구니 LINES 줄의 상품 / 수량 (같은 순서의 itemId, count 파라미터)
+ * - 상품 목록 페이지를 이동해도 선택한 값이 유지되도록 GET 요청(다음 상품, 검색)에도 그대로 전달됨
+ */
+@Getter
+@Setter
+public class OrderForm {
+
+    public static final int LINES = 5;
+
+    private Long memberId;
+    private List<Long> itemId = new ArrayList<>();
+    private List<Integer> count = new ArrayList<>();
+
+    /**
+     * 화면의 줄 수만큼 채움 (값이 없는 줄은 null)
+     */
+    public void fillLines() {
+        while (itemId.size() < LINES) {
+            itemId.add(null);
+        }
+        while (count.size() < LINES) {
+            count.add(null);
+        }
+    }
+
+    /**
+     * 상품을 선택한 줄만 장바구니로 변환 - 회원 / 상품 / 수량이 잘못되면 errors 에 기록
+     */
+    public List<CartLine> toCartLines(Errors errors) {
+        if (memberId == null) {
+            errors.rejectValue("memberId", "required", "주문회원을 선택하세요.");
+        }
+
+        List<CartLine> lines = new ArrayList<>();
+        for (int i = 0; i < itemId.size(); i++) {
+            Long lineItemId = itemId.get(i);
+            if (lineItemId == null) {
+                continue;
+            }
+            Integer lineCount = i < count.size() ? count.get(i) : null;
+            if (lineCount == null || lineCount < 1) {
+                if (!errors.hasFieldErrors("count")) {
+                    errors.rejectValue("count", "min", "선택한 상품의 주문수량은 1개 이상이어야 합니다.");
+                }
+                continue;
+            }
+            lines.add(new CartLine(lineItemId, lineCount));
+        }
+
+        if (lines.isEmpty() && !errors.hasFieldErrors("count")) {
+            errors.reject("empty", "주문할 상품을 선택하세요.");
+        }
+        return lines;
+    }
+}
@@ -1,19 +1,35 @@
 package jpabook.jpashop.domain;
 
+import jpabook.jpashop.domain.id.JpashopIdGenerator;
 import jpabook.jpashop.domain.item.Item;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 카테고리 트리
+ * - path : 상위 카테고리 ID 경로 (Materialized Path, ex. 루트 "/", 1번 하위 "/1/", 1 > 5 번 하위 "/1/5/")
+ *   -> 하위 트리 전체를 재귀 조회 없이 path like '/1/%' 한번으로 조회 (CategoryRepository)
+ * - 상위 카테고리 변경(addChildCategory) 시 자신의 path / depth 만 갱신하고,
+ *   하위 카테고리는 CategoryRepository.updateSubtreePath 의 UPDATE 한번으로 갱신 (CategoryService.move)
+ */
 @Entity
+@Table(indexes = @Index(name = "idx_category_path", columnList = "path"))
 @Getter
 @Setter
 public class Category {
 
-    @Id @GeneratedValue
+    public static final String ROOT_PATH = "/";
+
+    @Id
+    @GeneratedValue(generator = "category_seq")
+    @GenericGenerator(name = "category_seq", strategy = JpashopIdGenerator.STRATEGY, parameters = @Parameter(name = "sequence_name", value = "category_seq"))
     @Column(name = "category_id")
     private Long id;
     private String name;
@@ -28,14 +44,60 @@ public class Category {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
+    @Setter(AccessLevel.NONE)
     private Category parent;
+    @Setter(AccessLevel.NONE)
+    private String path = ROOT_PATH;
+    @Setter(AccessLevel.NONE)
+    private int depth;                  // 루트 0
 
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
 
     //==연관관계 메서드==//
+    /**
+     * 하위 카테고리 추가 (다른 카테고리의 하위였다면 이동)
+     * - 상위 카테고리는 ID 가 있어야 함 (먼저 저장)
+     * - 이동하는 카테고리의 path / depth 만 변경 (하위 트리는 CategoryRepository.updateSubtreePath)
+     */
     public void addChildCategory(Category child) {
+        if (id == null) {
+            throw new IllegalStateException("상위 카테고리를 먼저 저장해야 합니다.");
+        }
+        if (child == this || (child.getId() != null && isDescendantOf(child))) {
+            throw new IllegalArgumentException("하위 카테고리를 상위로 지정할 수 없습니다.");
+        }
+
+        if (child.getParent() != null) {
+            child.getParent().getChild().remove(child);
+        }
         this.child.add(child);
-        child.setParent(this);
+        child.parent = this;
+        child.path = getSubtreePath();
+        child.depth = getDepth() + 1;
+    }
+
+    /**
+     * 하위 트리 조회 조건 - 하위 카테고리의 path 는 모두 이 값으로 시작
+     */
+    public String getSubtreePath() {
+        return getPath() + getId() + "/";
+    }
+
+    public boolean isDescendantOf(Category ancestor) {
+        return getPath().startsWith(ancestor.getSubtreePath());
+    }
+
+    /**
+     * 상위 카테고리 ID 목록 - 루트부터 순서대로 (ex. "/1/5/" -> [1, 5])
+     */
+    public static List<Long> ancestorIds(String path) {
+        List<Long> ids = new ArrayList<>();
+        for (String id : path.split("/")) {
+            if (!id.isEmpty()) {
+                ids.add(Long.valueOf(id));
+            }
+        }
+        return ids;
     }
 }
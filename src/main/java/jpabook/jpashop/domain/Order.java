@@ -1,9 +1,12 @@
 package jpabook.jpashop.domain;
 
+import jpabook.jpashop.domain.id.JpashopIdGenerator;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -11,12 +14,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(
+        name = "orders"
+        , indexes = {
+                @Index(name = "idx_orders_status_order_date", columnList = "status, orderDate")   // 주문 상태 + 주문 일시 검색
+                , @Index(name = "idx_orders_total_price", columnList = "totalPrice")              // 주문 금액 검색 / 정렬
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "orders_seq")
+    @GenericGenerator(name = "orders_seq", strategy = JpashopIdGenerator.STRATEGY, parameters = @Parameter(name = "sequence_name", value = "orders_seq"))
     @Column(name = "order_id")
     private Long id;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,6 +41,12 @@ public class Order {
     private LocalDateTime orderDate;    // 주문 시간 - Java8부터는 LocalDateTime 만 선언해주면 하이버네이트에서 자동 생성
     @Enumerated(EnumType.STRING)
     private OrderStatus status;         // 주문 상태 [ORDER, CANCEL]
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int totalPrice;             // 전체 주문 가격 - addOrderItem 시점에 누적 (목록 / 검색에서 orderItems 를 조회하지 않도록 저장)
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int lineCount;              // 주문 상품 종류 수 (컬럼 추가 이전 주문은 0 으로 채워지고 OrderTotalBackfillService 로 보정)
 
     //== 연관관계 메서드 ==//
     public void setMember(Member member) {
@@ -40,6 +57,8 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice += orderItem.getTotalPrice();
+        lineCount++;
     }
 
     public void setDelivery(Delivery delivery) {
@@ -63,25 +82,13 @@ public class Order {
 
      //== 비지니스 로직 ==//
     /**
-     * 주문 취소
+     * 주문 상태만 취소로 변경 (재고 복구는 OrderService.cancelOrder 에서 ItemStockService.addStock 으로 처리)
+     * - 전체 주문 가격 / 주문 상품 종류 수는 주문 시점 값을 그대로 유지 (취소 주문 금액은 상태 조건으로 구분)
      */
-    public void cancel() {
+    public void markCanceled() {
         if(delivery.getDeliveryStatus() == DeliveryStatus.COMP) {
             throw new IllegalStateException("이미 배송이 완료된 상품은 취소가 불가능합니다.");
         }
         this.setStatus(OrderStatus.CANCEL);
-
-        orderItems.stream().forEach(
-                orderItem -> orderItem.cancel()
-        );
-    }
-
-    /**
-     * 전체 주문 가격 조회
-     */
-    public int getTotalPrice() {
-        int totalPrice = orderItems.stream().mapToInt(OrderItem::getTotalPrice).sum();
-
-        return totalPrice;
     }
 }
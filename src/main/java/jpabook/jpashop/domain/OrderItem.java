@@ -1,11 +1,14 @@
 package jpabook.jpashop.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jpabook.jpashop.domain.id.JpashopIdGenerator;
 import jpabook.jpashop.domain.item.Item;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
@@ -15,7 +18,9 @@ import javax.persistence.*;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OrderItem {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "order_item_seq")
+    @GenericGenerator(name = "order_item_seq", strategy = JpashopIdGenerator.STRATEGY, parameters = @Parameter(name = "sequence_name", value = "order_item_seq"))
     @Column(name = "order_item_id")
     private Long id;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,11 +44,18 @@ public class OrderItem {
         return orderItem;
     }
 
-    //== 비지니스 로직 ==//
-    public void cancel() {
-        getItem().addStock(count);
+    /**
+     * 재고 차감이 이미 완료된 상품으로 주문 상품 생성 (ItemRepository.removeStock 조건부 UPDATE 로 차감한 경우)
+     */
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setOrderPrice(orderPrice);
+        orderItem.setCount(count);
+        return orderItem;
     }
 
+    //== 비지니스 로직 ==//
     public int getTotalPrice() {
         return getOrderPrice() * getCount();
     }
@@ -0,0 +1,65 @@
+package jpabook.jpashop.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 목록 조회 전용 요약 (Read Model)
+ * - 주문 / 회원 / 배송 / 주문상품 / 상품을 조회 시점에 Join 하지 않도록 주문 저장 시점에 미리 계산해 둔 한 Row
+ * - 주문 / 취소 / 회원명 변경과 같은 트랜잭션에서 갱신 (OrderSummaryService)
+ * - items : 주문 시점의 상품명과 수량 (ex. "JPA1 BOOK x1, JPA2 BOOK x2")
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_order_summary_member", columnList = "memberId"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderSummary {
+
+    private static final int MAX_ITEMS_LENGTH = 1000;
+
+    @Id
+    private Long orderId;
+    private Long memberId;
+    private String memberName;
+    @Embedded
+    private Address address;
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    private LocalDateTime orderDate;
+    private int totalPrice;
+    private int itemCount;
+    @Column(length = MAX_ITEMS_LENGTH)
+    private String items;
+
+    //==생성 메서드==//
+    public static OrderSummary createOrderSummary(Order order) {
+        OrderSummary summary = new OrderSummary();
+        summary.orderId = order.getId();
+        summary.update(order);
+        return summary;
+    }
+
+    //==비지니스 로직==//
+    /**
+     * 주문의 현재 값으로 다시 계산 (요약 재생성)
+     */
+    public void update(Order order) {
+        this.memberId = order.getMember().getId();
+        this.memberName = order.getMember().getName();
+        this.address = order.getDelivery().getAddress();
+        this.status = order.getStatus();
+        this.orderDate = order.getOrderDate();
+        this.totalPrice = order.getTotalPrice();
+        this.itemCount = order.getLineCount();
+
+        String items = order.getOrderItems().stream()
+                .map(orderItem -> orderItem.getItem().getName() + " x" + orderItem.getCount())
+                .collect(Collectors.joining(", "));
+        this.items = items.length() > MAX_ITEMS_LENGTH ? items.substring(0, MAX_ITEMS_LENGTH - 3) + "..." : items;
+    }
+}
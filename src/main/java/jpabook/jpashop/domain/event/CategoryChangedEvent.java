@@ -0,0 +1,13 @@
+package jpabook.jpashop.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 카테고리 등록 / 이동 이벤트 (트리 구조 변경)
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final Long categoryId;
+}
@@ -0,0 +1,13 @@
+package jpabook.jpashop.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 등록 / 수정 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+    private final Long itemId;
+}
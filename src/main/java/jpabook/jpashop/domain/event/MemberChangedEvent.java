@@ -0,0 +1,13 @@
+package jpabook.jpashop.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 회원 정보 수정 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class MemberChangedEvent {
+    private final Long memberId;
+}
@@ -0,0 +1,18 @@
+package jpabook.jpashop.domain.event;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 주문 생성 / 취소 이벤트
+ * - status : 변경 후 주문 상태 [ORDER, CANCEL]
+ */
+@Getter
+@AllArgsConstructor
+public class OrderChangedEvent {
+    private final OrderStatus status;
+    private final List<Long> orderIds;
+}
@@ -0,0 +1,30 @@
+package jpabook.jpashop.domain.id;
+
+/**
+ * 식별자 생성 전략
+ * - POOLED : Sequence 값을 블록 상한으로 사용, 블록 크기(increment-size)만큼 DB 조회 없이 할당
+ * - POOLED_LO : Sequence 값을 블록 하한으로 사용 (외부에서 Sequence 를 직접 호출하는 경우에도 안전)
+ * - TIME : DB 조회 없이 애플리케이션에서 시간 순서 64bit ID 생성 (TimeOrderedIdGenerator)
+ */
+public enum IdStrategy {
+    POOLED("pooled"), POOLED_LO("pooled-lo"), TIME("time");
+
+    private final String value;
+
+    IdStrategy(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static IdStrategy from(String strategy) {
+        for (IdStrategy value : values()) {
+            if (value.value.equalsIgnoreCase(strategy) || value.name().equalsIgnoreCase(strategy)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 식별자 생성 전략입니다. strategy=" + strategy);
+    }
+}
@@ -0,0 +1,70 @@
+package jpabook.jpashop.domain.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Entity 별 Sequence 를 사용하는 식별자 생성기
+ * - 전략 / 블록 크기는 spring.jpa.properties.jpashop.id.* 설정을 따르고, Sequence 이름별로 재정의 가능
+ *   ex) jpashop.id.strategy=pooled, jpashop.id.increment-size=50, jpashop.id.orders_seq.increment-size=200
+ * - TIME 전략도 Sequence 는 만들어 둔다. (전략을 바꿔도 스키마는 그대로)
+ *
+ * 사용 : @GeneratedValue(generator = "orders_seq")
+ *       @GenericGenerator(name = "orders_seq", strategy = JpashopIdGenerator.STRATEGY, parameters = @Parameter(name = "sequence_name", value = "orders_seq"))
+ */
+public class JpashopIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "jpabook.jpashop.domain.id.JpashopIdGenerator";
+
+    private static final String SETTING_PREFIX = "jpashop.id.";
+    private static final String DEFAULT_INCREMENT_SIZE = "50";
+
+    private TimeOrderedIdGenerator timeOrderedIdGenerator;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        String sequenceName = params.getProperty(SEQUENCE_PARAM);
+
+        IdStrategy strategy = IdStrategy.from(setting(settings, sequenceName, "strategy", IdStrategy.POOLED.getValue()));
+        Properties sequenceParams = new Properties();
+        sequenceParams.putAll(params);
+
+        if (strategy == IdStrategy.TIME) {
+            timeOrderedIdGenerator = new TimeOrderedIdGenerator(Long.parseLong(setting(settings, sequenceName, "node-id", "0")));
+            sequenceParams.setProperty(INCREMENT_PARAM, "1");
+        } else {
+            sequenceParams.setProperty(INCREMENT_PARAM, setting(settings, sequenceName, "increment-size", DEFAULT_INCREMENT_SIZE));
+            sequenceParams.setProperty(OPT_PARAM, strategy.getValue());
+        }
+
+        super.configure(type, sequenceParams, serviceRegistry);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        if (timeOrderedIdGenerator != null) {
+            return timeOrderedIdGenerator.nextId();
+        }
+        return super.generate(session, object);
+    }
+
+    /**
+     * Sequence 이름별 설정 > 공통 설정 > 기본값 순서로 조회
+     */
+    private static String setting(Map<?, ?> settings, String sequenceName, String key, String defaultValue) {
+        Object value = settings.get(SETTING_PREFIX + sequenceName + "." + key);
+        if (value == null) {
+            value = settings.get(SETTING_PREFIX + key);
+        }
+        return value == null ? defaultValue : value.toString().trim();
+    }
+}
@@ -0,0 +1,41 @@
+package jpabook.jpashop.domain.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순서 64bit ID 생성기 (DB 조회 없음, Lock 없음)
+ * - 구성 : 41bit 밀리초 (EPOCH 기준, 약 69년) | 10bit 노드 ID | 12bit 순번
+ * - 같은 밀리초에 순번(4096개)을 모두 쓰면 다음 밀리초를 미리 사용하고, 시계가 뒤로 가도 마지막 값보다 작은 ID 는 만들지 않음
+ * - 여러 인스턴스가 같은 테이블에 저장하는 경우 노드 ID 를 서로 다르게 설정해야 한다.
+ */
+public class TimeOrderedIdGenerator {
+
+    static final long EPOCH = 1672531200000L;       // 2023-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final AtomicLong last = new AtomicLong();     // (밀리초 << SEQUENCE_BITS) | 순번
+
+    public TimeOrderedIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 ID 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다. nodeId=" + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public long nextId() {
+        while (true) {
+            long prev = last.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            long next = now > (prev >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : prev + 1;
+
+            if (last.compareAndSet(prev, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package jpabook.jpashop.domain.item;
 
 import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.id.JpashopIdGenerator;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -12,20 +18,33 @@ import java.util.List;
 @Entity
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "dtype")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")    // Book / Album / Movie 모두 같은 영역 사용
+@DynamicUpdate  // 이름 / 가격 수정시 재고 컬럼을 다시 쓰지 않도록 변경된 컬럼만 UPDATE (재고는 ItemRepository 단일 UPDATE 로만 변경)
 @Getter
 @Setter
 public abstract class Item {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "item_seq")
+    @GenericGenerator(name = "item_seq", strategy = JpashopIdGenerator.STRATEGY, parameters = @Parameter(name = "sequence_name", value = "item_seq"))
     @Column(name = "item_id")
     private Long id;
     private String name;
     private int price;
     private int stockQuantity;
+    private int stockShardCount;    // 0 : 일반 상품, N : 재고를 N개의 하위 카운터(ItemStockShard)로 나눈 Hot 상품
     @ManyToMany(mappedBy = "items")
     private List<Category> categories = new ArrayList<>();
 
     //==비지니스 로직==//
 
+    /**
+     * Hot 상품 여부 - Hot 상품의 재고는 stockQuantity 가 아닌 하위 카운터 합계 (ItemStockService)
+     */
+    public boolean isHotStock() {
+        return stockShardCount > 0;
+    }
+
     /**
      * Stock 증가
      */
@@ -0,0 +1,48 @@
+package jpabook.jpashop.domain.item;
+
+import jpabook.jpashop.domain.id.JpashopIdGenerator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+/**
+ * Hot 상품 재고 하위 카운터
+ * - 하나의 item Row 에 몰리는 Lock 경합을 줄이기 위해 재고를 N개의 Row 로 나누어 보관
+ * - 전체 재고 = 같은 상품의 하위 카운터 quantity 합계
+ */
+@Entity
+@Table(
+        name = "item_stock_shard"
+        , uniqueConstraints = @UniqueConstraint(name = "uk_item_stock_shard", columnNames = {"item_id", "shard_no"})
+)
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ItemStockShard {
+
+    @Id
+    @GeneratedValue(generator = "item_stock_shard_seq")
+    @GenericGenerator(name = "item_stock_shard_seq", strategy = JpashopIdGenerator.STRATEGY, parameters = @Parameter(name = "sequence_name", value = "item_stock_shard_seq"))
+    @Column(name = "item_stock_shard_id")
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+    @Column(name = "shard_no")
+    private int shardNo;
+    private int quantity;
+
+    //== 생성 메서드 ==//
+    public static ItemStockShard createShard(Item item, int shardNo, int quantity) {
+        ItemStockShard shard = new ItemStockShard();
+        shard.setItem(item);
+        shard.setShardNo(shardNo);
+        shard.setQuantity(quantity);
+        return shard;
+    }
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.domain.item;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품 종류 (dtype 구분 값 검색 조건)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ItemType {
+    BOOK(Book.class),
+    ALBUM(Album.class),
+    MOVIE(Movie.class);
+
+    private final Class<? extends Item> entityClass;
+}
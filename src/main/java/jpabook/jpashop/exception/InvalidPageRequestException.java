@@ -0,0 +1,26 @@
+package jpabook.jpashop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 페이징 요청 값이 잘못된 경우 (해석할 수 없는 cursor, 범위를 벗어난 limit) - 400 응답
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageRequestException extends IllegalArgumentException {
+    public InvalidPageRequestException() {
+        super();
+    }
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidPageRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidPageRequestException(Throwable cause) {
+        super(cause);
+    }
+}
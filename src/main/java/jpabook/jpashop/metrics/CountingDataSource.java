@@ -0,0 +1,83 @@
+package jpabook.jpashop.metrics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * SQL 실행 수 / 조회 Row 수를 기록하는 DataSource (JDK Proxy)
+ * - DataSource -> Connection -> Statement -> ResultSet 순서로 Proxy 를 씌워 execute* 호출과 ResultSet.next() 를 집계
+ * - JPA / JdbcTemplate 모두 집계 (Batch 실행은 한번으로 집계)
+ */
+public final class CountingDataSource {
+
+    private CountingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, String sql) {
+        return (T) Proxy.newProxyInstance(
+                CountingDataSource.class.getClassLoader()
+                , new Class<?>[]{type}
+                , new Handler(target, sql)
+        );
+    }
+
+    private static class Handler implements InvocationHandler {
+        private final Object target;
+        private final String sql;
+
+        Handler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            String name = method.getName();
+            if (target instanceof ResultSet) {
+                if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                    SqlStatsHolder.row();
+                }
+                return result;
+            }
+            if (target instanceof Statement) {
+                if (name.startsWith("execute")) {
+                    SqlStatsHolder.statement(sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : null);
+                }
+                return result instanceof ResultSet ? proxy(ResultSet.class, result, null) : result;
+            }
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, result, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, result, null);
+            }
+            if (result instanceof Connection) {
+                return proxy(Connection.class, result, null);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package jpabook.jpashop.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Entity 로딩 수 집계 (DB 조회 / 2차 캐시 조회 모두 포함)
+ */
+public class EntityLoadCountingInterceptor extends EmptyInterceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlStatsHolder.entityLoad();
+        return false;
+    }
+}
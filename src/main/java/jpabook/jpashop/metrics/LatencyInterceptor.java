@@ -0,0 +1,49 @@
+package jpabook.jpashop.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Controller Mapping 별 지연 시간 기록 (REST / Thymeleaf View 렌더링 포함)
+ * - 시작 시간은 스레드별 long 배열에 보관 (Request 속성에 Long 으로 저장하면 요청마다 객체 생성)
+ * - forward / error 처리처럼 한 스레드에서 Handler 가 중첩 실행되는 경우를 위해 깊이별로 보관
+ */
+public class LatencyInterceptor implements HandlerInterceptor {
+
+    private static final int MAX_DEPTH = 8;
+    private static final ThreadLocal<long[]> STARTS = ThreadLocal.withInitial(() -> new long[MAX_DEPTH + 1]);   // [0] : 깊이
+
+    private final LatencyRegistry registry;
+
+    public LatencyInterceptor(LatencyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            long[] starts = STARTS.get();
+            int depth = (int) starts[0] + 1;
+            if (depth <= MAX_DEPTH) {
+                starts[depth] = System.nanoTime();
+            }
+            starts[0] = depth;
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod) {
+            long[] starts = STARTS.get();
+            int depth = (int) starts[0];
+            starts[0] = depth - 1;
+            if (depth >= 1 && depth <= MAX_DEPTH) {
+                registry.timer(((HandlerMethod) handler).getMethod()).record(System.nanoTime() - starts[depth]);
+            }
+        }
+    }
+}
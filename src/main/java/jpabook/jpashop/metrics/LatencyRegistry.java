@@ -0,0 +1,102 @@
+package jpabook.jpashop.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Controller Mapping / Repository 메서드별 지연 시간 히스토그램
+ * - Method 객체를 Key 로 사용하여 기록 시 이름 문자열을 만들지 않음
+ * - windowSeconds 마다 현재 구간을 닫고 새 구간 시작 (current : 진행 중인 구간, previous : 직전 구간)
+ */
+public class LatencyRegistry implements AutoCloseable {
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService rotator;
+
+    public LatencyRegistry(int windowSeconds) {
+        rotator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latency-window-rotator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotator.scheduleAtFixedRate(this::rotate, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+    }
+
+    public void register(Method method, String name) {
+        timers.putIfAbsent(method, new Timer(name));
+    }
+
+    public Timer timer(Method method) {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, m -> new Timer(m.getDeclaringClass().getSimpleName() + "." + m.getName() + "(" + m.getParameterCount() + ")"));
+        }
+        return timer;
+    }
+
+    public List<LatencyMetric> snapshot() {
+        return timers.values().stream()
+                .map(timer -> new LatencyMetric(timer.name, timer.current.get().snapshot(), timer.previous.snapshot()))
+                .filter(metric -> metric.current.getCount() > 0 || metric.previous.getCount() > 0)
+                .sorted(Comparator.comparing(LatencyMetric::getName))
+                .collect(Collectors.toList());
+    }
+
+    public void rotate() {
+        timers.values().forEach(Timer::rotate);
+    }
+
+    public void reset() {
+        timers.values().forEach(Timer::reset);
+    }
+
+    @Override
+    public void close() {
+        rotator.shutdownNow();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LatencyMetric {
+        private final String name;
+        private final LatencyHistogram.Snapshot current;
+        private final LatencyHistogram.Snapshot previous;
+    }
+
+    /**
+     * 구간을 바꾸는 순간 기록 중이던 값은 직전 구간에 들어갈 수 있음 (정확도보다 기록 비용 우선)
+     */
+    public static class Timer {
+        private final String name;
+        private final AtomicReference<LatencyHistogram> current = new AtomicReference<>(new LatencyHistogram());
+        private volatile LatencyHistogram previous = new LatencyHistogram();
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos) {
+            current.get().record(nanos);
+        }
+
+        void rotate() {
+            previous = current.getAndSet(new LatencyHistogram());
+        }
+
+        void reset() {
+            current.set(new LatencyHistogram());
+            previous = new LatencyHistogram();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package jpabook.jpashop.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * @Repository 메서드별 지연 시간 기록
+ */
+public class RepositoryLatencyInterceptor implements MethodInterceptor {
+
+    private final LatencyRegistry registry;
+
+    public RepositoryLatencyInterceptor(LatencyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long startedAt = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            registry.timer(invocation.getMethod()).record(System.nanoTime() - startedAt);
+        }
+    }
+}
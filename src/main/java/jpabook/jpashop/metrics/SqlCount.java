@@ -0,0 +1,22 @@
+package jpabook.jpashop.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * SQL 실행 수 / 조회 Row 수 / Entity 로딩 수
+ */
+@Getter
+@AllArgsConstructor
+public class SqlCount {
+
+    public static final SqlCount ZERO = new SqlCount(0, 0, 0);
+
+    private final long statements;
+    private final long rows;
+    private final long entityLoads;
+
+    public SqlCount minus(SqlCount before) {
+        return new SqlCount(statements - before.statements, rows - before.rows, entityLoads - before.entityLoads);
+    }
+}
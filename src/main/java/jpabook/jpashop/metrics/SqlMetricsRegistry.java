@@ -0,0 +1,71 @@
+package jpabook.jpashop.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP 요청 / Service 호출별 SQL 집계
+ * - name : "GET /api/v5/orders", "OrderService.order" 등
+ */
+public class SqlMetricsRegistry {
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    public void record(String name, SqlCount count) {
+        aggregates.computeIfAbsent(name, key -> new Aggregate()).add(count);
+    }
+
+    /**
+     * 평균 SQL 실행 수가 많은 순서
+     */
+    public List<SqlMetric> snapshot() {
+        return aggregates.entrySet().stream()
+                .map(entry -> entry.getValue().toMetric(entry.getKey()))
+                .sorted(Comparator.comparingDouble(SqlMetric::getAvgStatements).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        aggregates.clear();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SqlMetric {
+        private final String name;
+        private final long calls;
+        private final double avgStatements;
+        private final long maxStatements;
+        private final double avgRows;
+        private final double avgEntityLoads;
+    }
+
+    private static class Aggregate {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        void add(SqlCount count) {
+            calls.increment();
+            statements.add(count.getStatements());
+            rows.add(count.getRows());
+            entityLoads.add(count.getEntityLoads());
+            maxStatements.accumulateAndGet(count.getStatements(), Math::max);
+        }
+
+        SqlMetric toMetric(String name) {
+            long n = Math.max(1, calls.sum());
+            return new SqlMetric(name, calls.sum(), (double) statements.sum() / n, maxStatements.get(), (double) rows.sum() / n, (double) entityLoads.sum() / n);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package jpabook.jpashop.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * HTTP 요청별 SQL 집계
+ * - 응답 Header : X-SQL-Statements, X-SQL-Rows, X-Entity-Loads (View 렌더링 중 LAZY 로딩까지 포함하기 위해 응답 본문을 버퍼링한 후 기록)
+ * - 같은 SQL 이 repeatThreshold 회 이상 실행되면 N+1 의심 경고 로그
+ * - 내보내기(/export) 처럼 응답을 바로 흘려보내는 요청은 버퍼링하지 않으므로 Header 없이 집계만 기록
+ */
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private final SqlMetricsRegistry registry;
+    private final int repeatThreshold;
+
+    public SqlStatsFilter(SqlMetricsRegistry registry, int repeatThreshold) {
+        this.registry = registry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        HttpServletResponse target = request.getRequestURI().endsWith("/export") ? response : new ContentCachingResponseWrapper(response);
+
+        SqlCount before = SqlStatsHolder.count();
+        SqlStatsHolder.trackRepeats();
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlCount count = SqlStatsHolder.count().minus(before);
+            Map.Entry<String, Integer> repeated = SqlStatsHolder.mostRepeated();
+            SqlStatsHolder.clearRepeats();
+
+            String name = request.getMethod() + " " + mappingOf(request);
+            registry.record(name, count);
+            if (repeated != null && repeated.getValue() >= repeatThreshold) {
+                log.warn("N+1 의심 - {} : 같은 SQL {}회 실행\n{}", name, repeated.getValue(), repeated.getKey());
+            }
+
+            if (!target.isCommitted()) {
+                target.setHeader("X-SQL-Statements", String.valueOf(count.getStatements()));
+                target.setHeader("X-SQL-Rows", String.valueOf(count.getRows()));
+                target.setHeader("X-Entity-Loads", String.valueOf(count.getEntityLoads()));
+            }
+            if (target instanceof ContentCachingResponseWrapper) {
+                ((ContentCachingResponseWrapper) target).copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * 요청을 처리한 Mapping 경로 (ex. /orders/{orderId}/cancel), 없으면 요청 URI
+     */
+    private static String mappingOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
@@ -0,0 +1,64 @@
+package jpabook.jpashop.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 현재 스레드의 SQL 실행 수 / 조회 Row 수 / Entity 로딩 수 (누적)
+ * - CountingDataSource, EntityLoadCountingInterceptor 가 기록하고, 요청 / Service 단위 값은 시작 시점과의 차이로 계산
+ * - 같은 SQL 반복 실행(N+1) 감지는 trackRepeats() 부터 clearRepeats() 까지만 SQL 별로 집계
+ */
+public final class SqlStatsHolder {
+
+    private static final ThreadLocal<Counter> CURRENT = ThreadLocal.withInitial(Counter::new);
+
+    private SqlStatsHolder() {
+    }
+
+    public static SqlCount count() {
+        Counter counter = CURRENT.get();
+        return new SqlCount(counter.statements, counter.rows, counter.entityLoads);
+    }
+
+    public static void trackRepeats() {
+        CURRENT.get().repeats = new HashMap<>();
+    }
+
+    /**
+     * 가장 많이 반복 실행된 SQL 과 횟수 (없으면 null)
+     */
+    public static Map.Entry<String, Integer> mostRepeated() {
+        Map<String, Integer> repeats = CURRENT.get().repeats;
+        if (repeats == null) {
+            return null;
+        }
+        return repeats.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    public static void clearRepeats() {
+        CURRENT.get().repeats = null;
+    }
+
+    static void statement(String sql) {
+        Counter counter = CURRENT.get();
+        counter.statements++;
+        if (counter.repeats != null && sql != null) {
+            counter.repeats.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void row() {
+        CURRENT.get().rows++;
+    }
+
+    static void entityLoad() {
+        CURRENT.get().entityLoads++;
+    }
+
+    private static class Counter {
+        private long statements;
+        private long rows;
+        private long entityLoads;
+        private Map<String, Integer> repeats;
+    }
+}
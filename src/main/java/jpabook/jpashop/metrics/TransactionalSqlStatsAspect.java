@@ -0,0 +1,34 @@
+package jpabook.jpashop.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * @Transactional Service 호출별 SQL 집계 (ex. "OrderService.order")
+ * - 트랜잭션 Advice 보다 바깥에서 실행하여 커밋 시점의 flush SQL 까지 포함
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionalSqlStatsAspect {
+
+    private final SqlMetricsRegistry registry;
+
+    public TransactionalSqlStatsAspect(SqlMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * jpabook.jpashop.service..*(..)) && " +
+            "(@within(org.springframework.transaction.annotation.Transactional) || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlCount before = SqlStatsHolder.count();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+            registry.record(name, SqlStatsHolder.count().minus(before));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package jpabook.jpashop.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * IN 절 조회 분할 실행
+ * - 식별자 목록을 고정 크기(in-chunk-size) 단위로 나누어 조회, DB별 IN 절 개수 제한을 넘지 않음
+ * - 나눈 조각이 2개 이상이면 마지막 조각을 마지막 식별자로 채워서(padding) 항상 같은 모양의 SQL 로 실행 (Statement 캐시 재사용)
+ * - in-parallelism 이 2 이상이면 조각별로 별도의 EntityManager(Connection)에서 동시에 조회 후 결과를 합침
+ *   -> 별도 Connection 에서 실행되므로 호출한 트랜잭션의 커밋 전 변경 내용은 보이지 않음, 조회 전용 DTO 조회에만 사용
+ */
+@Component
+public class ChunkedInQueryExecutor {
+
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public ChunkedInQueryExecutor(
+            EntityManager em
+            , EntityManagerFactory emf
+            , @Value("${jpashop.query.in-chunk-size:1000}") int chunkSize
+            , @Value("${jpashop.query.in-parallelism:1}") int parallelism
+    ) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("in-chunk-size 는 1 이상이어야 합니다.");
+        }
+
+        this.em = em;
+        this.emf = emf;
+        this.chunkSize = chunkSize;
+        this.executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, new ChunkThreadFactory()) : null;
+    }
+
+    public <T> List<T> execute(List<Long> ids, BiFunction<EntityManager, List<Long>, List<T>> query) {
+        List<T> result = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+
+        List<List<Long>> chunks = toChunks(ids);
+        if (executor == null || chunks.size() == 1) {
+            for (List<Long> chunk : chunks) {
+                result.addAll(query.apply(em, chunk));
+            }
+            return result;
+        }
+
+        List<Future<List<T>>> futures = new ArrayList<>(chunks.size());
+        for (List<Long> chunk : chunks) {
+            futures.add(executor.submit(() -> {
+                EntityManager chunkEm = emf.createEntityManager();
+                try {
+                    return query.apply(chunkEm, chunk);
+                } finally {
+                    chunkEm.close();
+                }
+            }));
+        }
+
+        for (Future<List<T>> future : futures) {
+            result.addAll(await(future));
+        }
+        return result;
+    }
+
+    private List<List<Long>> toChunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        if (ids.size() <= chunkSize) {
+            chunks.add(ids);
+            return chunks;
+        }
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = new ArrayList<>(chunkSize);
+            chunk.addAll(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+
+            Long last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < chunkSize) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static <T> List<T> await(Future<List<T>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("IN 절 분할 조회가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("IN 절 분할 조회에 실패했습니다.", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static class ChunkThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "in-query-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package jpabook.jpashop.repository;
 
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemType;
+import jpabook.jpashop.repository.item.ItemListDto;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -25,7 +39,162 @@ public class ItemRepository {
         return em.find(Item.class, id);
     }
 
+    /**
+     * 비관적 Lock 으로 조회 (select ... for update)
+     * - 이미 영속성 컨텍스트에 있는 Entity 도 Lock 을 잡은 시점의 DB 값으로 다시 맞춤
+     */
+    public Item findOneForUpdate(Long id) {
+        Item item = em.find(Item.class, id);
+        if (item != null) {
+            em.refresh(item, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return item;
+    }
+
+    /**
+     * 여러 일반 상품을 비관적 Lock 으로 조회 - 항상 상품 ID 순서로 Lock 을 잡아 교착 상태 방지
+     * - Hot 상품(stockShardCount > 0)은 하위 카운터에서 조건부 차감하므로 item Row 를 잠그지 않음 (결과에서 제외)
+     * - 트랜잭션 시작 시점에 호출 (이미 영속성 컨텍스트에 있는 Entity 는 DB 값으로 갱신되지 않음)
+     */
+    public List<Item> findAllNormalForUpdate(Collection<Long> ids) {
+        return em.createQuery("select i from Item i where i.id in :ids and i.stockShardCount = 0 order by i.id", Item.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    /**
+     * Keyset 페이징용 상품 ID 목록 (검색 색인 재생성 등 전체 상품을 순서대로 처리할 때 사용)
+     */
+    public List<Long> findIdsAfter(Long lastItemId, int limit) {
+        return em.createQuery("select i.id from Item i where i.id > :lastItemId order by i.id", Long.class)
+                .setParameter("lastItemId", lastItemId == null ? 0L : lastItemId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<Item> findAllById(Collection<Long> ids) {
+        return em.createQuery("select i from Item i where i.id in :ids", Item.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * 상품 목록 - 목록 컬럼만 DTO 로 조회, 상품 ID 기준 Keyset 페이징 (Entity / 스냅샷을 만들지 않음)
+     * - types 가 있으면 해당 종류(dtype)만 조회
+     */
+    public List<ItemListDto> findListAfter(Collection<ItemType> types, Long lastItemId, int limit) {
+        List<Class<? extends Item>> classes = types == null ? List.of() : types.stream()
+                .filter(Objects::nonNull)
+                .map(ItemType::getEntityClass)
+                .collect(Collectors.toList());
+        boolean filtered = !classes.isEmpty();
+        TypedQuery<ItemListDto> query = em.createQuery(
+                "select new jpabook.jpashop.repository.item.ItemListDto(i.id, i.name, i.price, i.stockQuantity, i.stockShardCount) from Item i " +
+                        "where i.id > :lastItemId " +
+                        (filtered ? "and type(i) in (:types) " : "") +
+                        "order by i.id"
+                , ItemListDto.class
+                ).setParameter("lastItemId", lastItemId == null ? 0L : lastItemId)
+                .setMaxResults(limit);
+
+        if (filtered) {
+            query.setParameter("types", classes);
+        }
+        return query.getResultList();
+    }
+
     public List<Item> findAll() {
-        return em.createQuery("select i from Item i", Item.class).getResultList();
+        return em.createQuery("select i from Item i", Item.class)
+                .setHint(QueryHints.CACHEABLE, true)   // 쿼리 캐시 - item 테이블 변경 시 자동 무효화
+                .getResultList();
+    }
+
+    /**
+     * 재고 차감 - 조건부 단일 UPDATE (재고 >= 요청 수량 인 경우만 차감)
+     * - 조회 후 계산한 값을 dirty checking 으로 다시 저장하지 않기 때문에 동시 주문에서도 갱신 유실 / 초과 판매가 없음
+     * @return 차감 성공 여부 (재고 부족시 false)
+     */
+    public boolean removeStock(Long itemId, int quantity) {
+        validateQuantity(quantity);
+
+        return updateStock(
+                "update item set stock_quantity = stock_quantity - :quantity " +
+                        "where item_id = :itemId and stock_quantity >= :quantity"
+                , itemId
+                , quantity
+        ) == 1;
+    }
+
+    /**
+     * 일반 상품 재고 증가 - 단일 UPDATE
+     * - 조회 이후 Hot 상품으로 전환된 경우 item 재고에 더하면 하위 카운터 합계에 포함되지 않으므로 증가하지 않음
+     * @return 증가 성공 여부 (없는 상품 / Hot 상품이면 false)
+     */
+    public boolean addStock(Long itemId, int quantity) {
+        validateQuantity(quantity);
+
+        return updateStock(
+                "update item set stock_quantity = stock_quantity + :quantity " +
+                        "where item_id = :itemId and stock_shard_count = 0"
+                , itemId
+                , quantity
+        ) == 1;
+    }
+
+    /**
+     * 재고 UPDATE 이후 영속성 컨텍스트의 상품 재고를 DB 에 다시 쓰지 않고 값만 맞춤 (refresh SELECT 없이)
+     * - 읽기 전용으로 바꾼 상태에서 값을 변경하고 다시 수정 가능으로 바꾸면 변경된 값이 dirty checking 기준(스냅샷)이 됨
+     * - 다른 트랜잭션의 동시 변경은 반영되지 않으므로 정확한 재고는 ItemStockService.getStockQuantity 로 조회
+     * - 초기화되지 않은 Proxy 는 이후 조회시 DB 값을 읽기 때문에 제외
+     */
+    public void syncStockQuantity(Item item, int delta) {
+        if (!Hibernate.isInitialized(item) || !em.contains(item)) {
+            return;
+        }
+
+        Session session = em.unwrap(Session.class);
+        session.setReadOnly(item, true);
+        item.setStockQuantity(item.getStockQuantity() + delta);
+        session.setReadOnly(item, false);
+    }
+
+    /**
+     * 재고 UPDATE 는 Native Query 로 실행하고 2차 캐시에서는 해당 상품만 제거
+     * - HQL 벌크 UPDATE 는 실행할 때마다 item 캐시 영역 전체와 item 테이블 쿼리 캐시를 비우기 때문에
+     *   빈 query space 를 지정하여 Hibernate 의 전체 무효화를 막음
+     * - query space 가 비어 있으면 자동 flush 가 되지 않으므로 저장 대기중인 상품이 있을 수 있어 직접 flush
+     * - 커밋 전에 다른 트랜잭션이 이전 값을 다시 캐시할 수 있으므로 트랜잭션 완료 후 한번 더 제거
+     */
+    private int updateStock(String sql, Long itemId, int quantity) {
+        em.flush();
+        int updated = em.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", itemId)
+                .executeUpdate();
+
+        evict(itemId);
+        return updated;
+    }
+
+    private void evict(Long itemId) {
+        Cache cache = em.getEntityManagerFactory().getCache();
+        cache.evict(Item.class, itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Item.class, itemId);
+                }
+            });
+        }
+    }
+
+    private static void validateQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("수량은 1개 이상이어야 합니다.");
+        }
     }
 }
@@ -0,0 +1,102 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.item.ItemStockShard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ItemStockShardRepository {
+
+    private final EntityManager em;
+
+    public void save(ItemStockShard shard) {
+        em.persist(shard);
+    }
+
+    /**
+     * 하위 카운터 하나에서 재고 차감 - 조건부 단일 UPDATE
+     * @return 차감 성공 여부
+     */
+    public boolean removeStock(Long itemId, int shardNo, int quantity) {
+        validateQuantity(quantity);
+
+        int updated = em.createQuery(
+                "update ItemStockShard s set s.quantity = s.quantity - :quantity " +
+                        "where s.item.id = :itemId and s.shardNo = :shardNo and s.quantity >= :quantity")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", itemId)
+                .setParameter("shardNo", shardNo)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    /**
+     * 하위 카운터 하나에 재고 증가 - 단일 UPDATE
+     * @return 증가 성공 여부 (일반 상품 전환으로 하위 카운터가 삭제된 경우 false)
+     */
+    public boolean addStock(Long itemId, int shardNo, int quantity) {
+        validateQuantity(quantity);
+
+        int updated = em.createQuery(
+                "update ItemStockShard s set s.quantity = s.quantity + :quantity " +
+                        "where s.item.id = :itemId and s.shardNo = :shardNo")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", itemId)
+                .setParameter("shardNo", shardNo)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    /**
+     * 상품의 모든 하위 카운터를 shardNo 순서로 잠근 후 조회
+     * - 조회 결과는 준영속 상태로 반환하여, 이후 벌크 UPDATE 와 영속성 컨텍스트의 값이 어긋나지 않도록 함
+     */
+    public List<ItemStockShard> findAllForUpdate(Long itemId) {
+        List<ItemStockShard> shards = em.createQuery(
+                "select s from ItemStockShard s where s.item.id = :itemId order by s.shardNo"
+                , ItemStockShard.class
+                ).setParameter("itemId", itemId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+
+        shards.forEach(em::detach);
+        return shards;
+    }
+
+    public int sumStock(Long itemId) {
+        Long sum = em.createQuery("select sum(s.quantity) from ItemStockShard s where s.item.id = :itemId", Long.class)
+                .setParameter("itemId", itemId)
+                .getSingleResult();
+        return sum == null ? 0 : sum.intValue();
+    }
+
+    /**
+     * 여러 Hot 상품의 재고 합계 - 상품 ID 별 group by 한번 [itemId, sum]
+     */
+    public List<Object[]> sumStockByItems(Collection<Long> itemIds) {
+        return em.createQuery(
+                "select s.item.id, sum(s.quantity) from ItemStockShard s " +
+                        "where s.item.id in :itemIds " +
+                        "group by s.item.id"
+                , Object[].class
+        ).setParameter("itemIds", itemIds).getResultList();
+    }
+
+    public void deleteAll(Long itemId) {
+        em.createQuery("delete from ItemStockShard s where s.item.id = :itemId")
+                .setParameter("itemId", itemId)
+                .executeUpdate();
+    }
+
+    private static void validateQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("수량은 1개 이상이어야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+/**
+ * 일괄 취소 대상 주문의 상태 (주문 Entity 를 조회하지 않고 취소 가능 여부만 판단)
+ */
+@Data
+public class OrderCancelTarget {
+
+    private Long orderId;
+    private OrderStatus orderStatus;
+    private DeliveryStatus deliveryStatus;
+
+    public OrderCancelTarget(Long orderId, OrderStatus orderStatus, DeliveryStatus deliveryStatus) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.deliveryStatus = deliveryStatus;
+    }
+}
@@ -0,0 +1,20 @@
+package jpabook.jpashop.repository;
+
+import lombok.Data;
+
+/**
+ * 상품별 주문 수량 합계
+ */
+@Data
+public class OrderItemQuantity {
+
+    private Long itemId;
+    private int stockShardCount;
+    private long quantity;
+
+    public OrderItemQuantity(Long itemId, int stockShardCount, Long quantity) {
+        this.itemId = itemId;
+        this.stockShardCount = stockShardCount;
+        this.quantity = quantity;
+    }
+}
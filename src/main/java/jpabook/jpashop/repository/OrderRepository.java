@@ -1,12 +1,14 @@
 package jpabook.jpashop.repository;
 
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
 import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.TypedQuery;
 import java.util.List;
 
@@ -15,6 +17,7 @@ import java.util.List;
 public class OrderRepository {
 
     private final EntityManager em;
+    private final OrderSearchPlans searchPlans = new OrderSearchPlans();
 
     public void save(Order order) {
         em.persist(order);
@@ -24,6 +27,48 @@ public class OrderRepository {
         return em.find(Order.class, id);
     }
 
+    /**
+     * 일괄 취소 대상 주문의 상태 조회 - 주문 ID 순서로 비관적 Lock (동시에 같은 주문을 취소해도 재고가 두번 복구되지 않음)
+     */
+    public List<OrderCancelTarget> findCancelTargetsForUpdate(List<Long> orderIds) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.OrderCancelTarget(o.id, o.status, d.deliveryStatus) " +
+                        "from Order o " +
+                        "join o.delivery d " +
+                        "where o.id in :orderIds " +
+                        "order by o.id"
+                , OrderCancelTarget.class
+                ).setParameter("orderIds", orderIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    /**
+     * 주문 상태 일괄 변경 - 단일 UPDATE
+     */
+    public int updateStatus(List<Long> orderIds, OrderStatus status) {
+        return em.createQuery("update Order o set o.status = :status where o.id in :orderIds")
+                .setParameter("status", status)
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
+
+    /**
+     * 주문들의 상품별 주문 수량 합계 - 상품 ID 순서
+     */
+    public List<OrderItemQuantity> sumOrderItemCountByItem(List<Long> orderIds) {
+        return em.createQuery(
+                "select new jpabook.jpashop.repository.OrderItemQuantity(i.id, i.stockShardCount, sum(oi.count)) " +
+                        "from OrderItem oi " +
+                        "join oi.item i " +
+                        "where oi.order.id in :orderIds " +
+                        "group by i.id, i.stockShardCount " +
+                        "order by i.id"
+                , OrderItemQuantity.class
+                ).setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
     public List<Order> findAll(OrderSearch orderSearch) {
 
         return em.createQuery("select o from Order  o join o.member m where o.status = :status and m.name like :name", Order.class)
@@ -33,6 +78,10 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    /**
+     * @deprecated 검색 조건마다 JPQL 을 새로 만들고 최대 1000건만 조회 - findAllBySearch 로 페이지 단위 조회
+     */
+    @Deprecated
     public List<Order> findAllByString(OrderSearch orderSearch) {
 
         String jpql = "select o from Order o join o.member m";
@@ -73,6 +122,35 @@ public class OrderRepository {
         return query.getResultList();
     }
 
+    /**
+     * 동적 검색 - 검색 조건 조합(shape) 별로 한번 만든 JPQL 을 재사용 (OrderSearchPlans)
+     * - 주문 상태, 주문 일시 범위, 회원 ID / 이름, 배송 상태, 주문 상품 ID 검색
+     * - member 는 fetch join 으로 함께 조회하여 목록 화면의 N+1 방지
+     * - 정렬 순서대로 limit 건씩 Keyset 페이징 (lastOrderId : 이전 페이지의 마지막 주문 ID, null 이면 첫 페이지)
+     *   -> 마지막 주문의 정렬 기준 값은 PK 로 한번 조회하여 조건에 사용
+     */
+    public List<Order> findAllBySearch(OrderSearch orderSearch, Long lastOrderId, int limit) {
+        int shape = OrderSearchPlans.shapeOf(orderSearch, lastOrderId != null);
+
+        TypedQuery<Order> query = em.createQuery(searchPlans.jpql(shape), Order.class)
+                .setMaxResults(limit);
+
+        if (lastOrderId != null) {
+            String sortKey = OrderSearchPlans.sortKey(shape);
+            if (sortKey != null) {
+                List<Object> lastSortKeys = em.createQuery("select " + sortKey + " from Order o where o.id = :lastOrderId", Object.class)
+                        .setParameter("lastOrderId", lastOrderId)
+                        .getResultList();
+                if (lastSortKeys.isEmpty()) {
+                    return List.of();
+                }
+                query.setParameter("lastSortKey", lastSortKeys.get(0));
+            }
+            query.setParameter("lastOrderId", lastOrderId);
+        }
+        return OrderSearchPlans.bind(query, shape, orderSearch).getResultList();
+    }
+
     public List<Order> findAllWithMemberDelivery() {
         return em.createQuery(
                 "select o from Order o " +
@@ -93,6 +171,36 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    /**
+     * 1:n 인경우 Keyset(Cursor) 페이징 처리
+     * - offset 방식은 앞선 Row를 모두 읽고 버리기 때문에 페이지가 깊어질수록 느려짐
+     * - 마지막으로 조회한 orderId 이후부터 PK 인덱스로 바로 조회하여 페이지 깊이와 관계없이 일정한 비용
+     * - lastOrderId 가 null 이면 첫 페이지
+     */
+    public List<Order> findAllWithMemberDeliveryAfter(Long lastOrderId, int limit) {
+        if (lastOrderId == null) {
+            return em.createQuery(
+                    "select o from Order o " +
+                            "join fetch o.member m " +
+                            "join fetch o.delivery d " +
+                            "order by o.id"
+                    , Order.class
+                    ).setMaxResults(limit)
+                    .getResultList();
+        }
+
+        return em.createQuery(
+                "select o from Order o " +
+                        "join fetch o.member m " +
+                        "join fetch o.delivery d " +
+                        "where o.id > :lastOrderId " +
+                        "order by o.id"
+                , Order.class
+                ).setParameter("lastOrderId", lastOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public List<Order> findAllWithItem() {
         return em.createQuery(
                 "select distinct o from Order o " +         // distinct 를 기입할 경우 DB의 distinct 기능 제공 (하나의 로우의 정보가 동일한경우만 생략), 다만, JPA에서는 ID 값이 동일하면 생략 제공
@@ -103,4 +211,42 @@ public class OrderRepository {
                 , Order.class
         ).getResultList();
     }
+
+    /**
+     * Keyset 페이징용 주문 ID 목록 (요약 재생성 등 전체 주문을 순서대로 처리할 때 사용)
+     */
+    public List<Long> findIdsAfter(Long lastOrderId, int limit) {
+        return em.createQuery("select o.id from Order o where o.id > :lastOrderId order by o.id", Long.class)
+                .setParameter("lastOrderId", lastOrderId == null ? 0L : lastOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<Order> findAllWithItemByIds(List<Long> orderIds) {
+        return em.createQuery(
+                "select distinct o from Order o " +
+                        "join fetch o.member m " +
+                        "join fetch o.delivery d " +
+                        "join fetch o.orderItems oi " +
+                        "join fetch oi.item i " +
+                        "where o.id in :orderIds " +
+                        "order by o.id"
+                , Order.class
+                ).setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+    /**
+     * 전체 주문 가격 / 주문 상품 종류 수 보정 - 주문상품 합계로 다시 계산하는 UPDATE 한번 (컬럼 추가 이전에 저장된 주문 Backfill)
+     * - Entity 를 조회하지 않는 UPDATE 이므로 이미 조회된 주문 Entity 는 갱신되지 않음
+     */
+    public int updateTotals(List<Long> orderIds) {
+        return em.createNativeQuery(
+                "update orders o set " +
+                        "total_price = (select coalesce(sum(oi.order_price * oi.count), 0) from order_item oi where oi.order_id = o.order_id), " +
+                        "line_count = (select count(*) from order_item oi where oi.order_id = o.order_id) " +
+                        "where o.order_id in (:orderIds)")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
 }
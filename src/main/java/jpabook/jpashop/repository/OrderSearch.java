@@ -1,12 +1,26 @@
 package jpabook.jpashop.repository;
 
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.domain.OrderStatus;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
 public class OrderSearch {
     private String memberName;       // 회원명
     private OrderStatus orderStatus; // 주문 상태 [ORDER, CANCEL]
+    private Long memberId;           // 회원 ID
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime orderDateFrom;    // 주문 일시 (이상)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime orderDateTo;      // 주문 일시 (미만)
+    private DeliveryStatus deliveryStatus;  // 배송 상태 [READ, COMP]
+    private Long itemId;             // 주문 상품 ID
+    private Integer minTotalPrice;   // 전체 주문 가격 (이상)
+    private Integer maxTotalPrice;   // 전체 주문 가격 (이하)
+    private OrderSort sort;          // 정렬 [LATEST, TOTAL_PRICE_DESC, TOTAL_PRICE_ASC], 없으면 LATEST
 }
@@ -0,0 +1,179 @@
+package jpabook.jpashop.repository;
+
+import org.springframework.util.StringUtils;
+
+import javax.persistence.TypedQuery;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 주문 검색 JPQL 생성
+ * - 입력된 검색 조건의 조합(shape)을 비트마스크로 표현하고, shape 별로 한번 만든 JPQL 을 재사용
+ * - 같은 shape 은 항상 같은 JPQL 문자열이므로 Hibernate Query Plan Cache 도 shape 별로 한번만 컴파일
+ * - 주문 상태 / 주문 일시 범위 조건이 있으면 최신 주문 순을 주문 일시 기준으로 정렬
+ *   -> orders(status, order_date) 인덱스로 조건과 정렬을 함께 처리 (조건에 맞는 전체 주문을 정렬하지 않음)
+ * - 주문 금액 범위 / 정렬은 orders.total_price 컬럼 사용, 정렬 종류도 shape 에 포함 (SORT_SHIFT 이후 비트)
+ * - 다음 페이지는 (정렬 기준 값, 주문 ID) Keyset 조건으로 조회 (AFTER)
+ */
+class OrderSearchPlans {
+
+    private static final int STATUS = 1;
+    private static final int MEMBER_NAME = 1 << 1;
+    private static final int MEMBER_ID = 1 << 2;
+    private static final int ORDER_DATE_FROM = 1 << 3;
+    private static final int ORDER_DATE_TO = 1 << 4;
+    private static final int DELIVERY_STATUS = 1 << 5;
+    private static final int ITEM_ID = 1 << 6;
+    private static final int MIN_TOTAL_PRICE = 1 << 7;
+    private static final int MAX_TOTAL_PRICE = 1 << 8;
+    private static final int AFTER = 1 << 9;
+    private static final int SORT_SHIFT = 10;
+
+    private final Map<Integer, String> jpqlByShape = new ConcurrentHashMap<>();
+
+    static int shapeOf(OrderSearch orderSearch, boolean after) {
+        int shape = after ? AFTER : 0;
+        if (orderSearch.getOrderStatus() != null) {
+            shape |= STATUS;
+        }
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            shape |= MEMBER_NAME;
+        }
+        if (orderSearch.getMemberId() != null) {
+            shape |= MEMBER_ID;
+        }
+        if (orderSearch.getOrderDateFrom() != null) {
+            shape |= ORDER_DATE_FROM;
+        }
+        if (orderSearch.getOrderDateTo() != null) {
+            shape |= ORDER_DATE_TO;
+        }
+        if (orderSearch.getDeliveryStatus() != null) {
+            shape |= DELIVERY_STATUS;
+        }
+        if (orderSearch.getItemId() != null) {
+            shape |= ITEM_ID;
+        }
+        if (orderSearch.getMinTotalPrice() != null) {
+            shape |= MIN_TOTAL_PRICE;
+        }
+        if (orderSearch.getMaxTotalPrice() != null) {
+            shape |= MAX_TOTAL_PRICE;
+        }
+        if (orderSearch.getSort() != null) {
+            shape |= orderSearch.getSort().ordinal() << SORT_SHIFT;
+        }
+        return shape;
+    }
+
+    /**
+     * 정렬 기준 컬럼 (null 이면 주문 ID 만으로 정렬)
+     */
+    static String sortKey(int shape) {
+        OrderSort sort = sortOf(shape);
+        if (sort.getSortKey() != null) {
+            return sort.getSortKey();
+        }
+        return (shape & (STATUS | ORDER_DATE_FROM | ORDER_DATE_TO)) != 0 ? "o.orderDate" : null;
+    }
+
+    String jpql(int shape) {
+        return jpqlByShape.computeIfAbsent(shape, OrderSearchPlans::build);
+    }
+
+    static <T> TypedQuery<T> bind(TypedQuery<T> query, int shape, OrderSearch orderSearch) {
+        if ((shape & STATUS) != 0) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+        if ((shape & MEMBER_NAME) != 0) {
+            query.setParameter("name", orderSearch.getMemberName());
+        }
+        if ((shape & MEMBER_ID) != 0) {
+            query.setParameter("memberId", orderSearch.getMemberId());
+        }
+        if ((shape & ORDER_DATE_FROM) != 0) {
+            query.setParameter("orderDateFrom", orderSearch.getOrderDateFrom());
+        }
+        if ((shape & ORDER_DATE_TO) != 0) {
+            query.setParameter("orderDateTo", orderSearch.getOrderDateTo());
+        }
+        if ((shape & DELIVERY_STATUS) != 0) {
+            query.setParameter("deliveryStatus", orderSearch.getDeliveryStatus());
+        }
+        if ((shape & ITEM_ID) != 0) {
+            query.setParameter("itemId", orderSearch.getItemId());
+        }
+        if ((shape & MIN_TOTAL_PRICE) != 0) {
+            query.setParameter("minTotalPrice", orderSearch.getMinTotalPrice());
+        }
+        if ((shape & MAX_TOTAL_PRICE) != 0) {
+            query.setParameter("maxTotalPrice", orderSearch.getMaxTotalPrice());
+        }
+        return query;
+    }
+
+    private static String build(int shape) {
+        StringBuilder jpql = new StringBuilder("select o from Order o join fetch o.member m");
+        if ((shape & DELIVERY_STATUS) != 0) {
+            jpql.append(" join o.delivery d");
+        }
+
+        StringBuilder where = new StringBuilder();
+        if ((shape & STATUS) != 0) {
+            and(where, "o.status = :status");
+        }
+        if ((shape & ORDER_DATE_FROM) != 0) {
+            and(where, "o.orderDate >= :orderDateFrom");
+        }
+        if ((shape & ORDER_DATE_TO) != 0) {
+            and(where, "o.orderDate < :orderDateTo");
+        }
+        if ((shape & MEMBER_ID) != 0) {
+            and(where, "m.id = :memberId");
+        }
+        if ((shape & MEMBER_NAME) != 0) {
+            and(where, "m.name like :name");
+        }
+        if ((shape & DELIVERY_STATUS) != 0) {
+            and(where, "d.deliveryStatus = :deliveryStatus");
+        }
+        if ((shape & ITEM_ID) != 0) {
+            and(where, "exists (select oi.id from OrderItem oi where oi.order = o and oi.item.id = :itemId)");
+        }
+        if ((shape & MIN_TOTAL_PRICE) != 0) {
+            and(where, "o.totalPrice >= :minTotalPrice");
+        }
+        if ((shape & MAX_TOTAL_PRICE) != 0) {
+            and(where, "o.totalPrice <= :maxTotalPrice");
+        }
+
+        OrderSort sort = sortOf(shape);
+        String sortKey = sortKey(shape);
+        if ((shape & AFTER) != 0) {
+            and(where, sortKey == null
+                    ? "o.id < :lastOrderId"
+                    : "(" + sortKey + (sort.isAscending() ? " > " : " < ") + ":lastSortKey" +
+                            " or (" + sortKey + " = :lastSortKey and o.id < :lastOrderId))");
+        }
+
+        if (where.length() > 0) {
+            jpql.append(" where ").append(where);
+        }
+        jpql.append(" order by ");
+        if (sortKey != null) {
+            jpql.append(sortKey).append(sort.isAscending() ? " asc, " : " desc, ");
+        }
+        return jpql.append("o.id desc").toString();
+    }
+
+    private static OrderSort sortOf(int shape) {
+        return OrderSort.values()[shape >>> SORT_SHIFT];
+    }
+
+    private static void and(StringBuilder where, String condition) {
+        if (where.length() > 0) {
+            where.append(" and ");
+        }
+        where.append(condition);
+    }
+}
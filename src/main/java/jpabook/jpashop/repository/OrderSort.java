@@ -0,0 +1,20 @@
+package jpabook.jpashop.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 검색 정렬 - 정렬 기준 컬럼(sortKey)이 같으면 최신 주문 순 (o.id desc)
+ * - 주문 금액 정렬은 orders.total_price 컬럼 기준 (orderItems 를 조회하지 않음)
+ * - 최신 주문 순은 주문 상태 / 주문 일시 조건이 있으면 주문 일시 기준 (OrderSearchPlans.sortKey)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderSort {
+    LATEST(null, false),                   // 최신 주문 순 (기본)
+    TOTAL_PRICE_DESC("o.totalPrice", false), // 주문 금액 높은 순
+    TOTAL_PRICE_ASC("o.totalPrice", true);   // 주문 금액 낮은 순
+
+    private final String sortKey;
+    private final boolean ascending;
+}
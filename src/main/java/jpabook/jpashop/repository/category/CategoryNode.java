@@ -0,0 +1,35 @@
+package jpabook.jpashop.repository.category;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 캐시용 카테고리 트리 노드 - 영속성 컨텍스트와 무관한 값 객체 (트리 생성 이후 변경되지 않음)
+ */
+@Getter
+public class CategoryNode {
+
+    private final Long id;
+    private final String name;
+    private final String path;
+    private final int depth;
+    private final List<CategoryNode> children = new ArrayList<>();
+
+    CategoryNode(Long id, String name, String path, int depth) {
+        this.id = id;
+        this.name = name;
+        this.path = path;
+        this.depth = depth;
+    }
+
+    public List<CategoryNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    void addChild(CategoryNode child) {
+        children.add(child);
+    }
+}
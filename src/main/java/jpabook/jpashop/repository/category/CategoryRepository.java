@@ -0,0 +1,97 @@
+package jpabook.jpashop.repository.category;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.repository.item.ItemListDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    /**
+     * 카테고리의 path 만 조회 (Entity 를 영속성 컨텍스트에 올리지 않음)
+     * @return 없는 카테고리면 null
+     */
+    public String findPath(Long id) {
+        return em.createQuery("select c.path from Category c where c.id = :id", String.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * 여러 카테고리를 비관적 Lock 으로 조회 - 항상 카테고리 ID 순서로 Lock 을 잡아 교착 상태 방지
+     * - 트랜잭션 시작 시점에 호출 (이미 영속성 컨텍스트에 있는 Entity 는 DB 값으로 갱신되지 않음)
+     */
+    public List<Category> findAllForUpdate(Collection<Long> ids) {
+        return em.createQuery("select c from Category c where c.id in :ids order by c.id", Category.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    /**
+     * 트리 생성용 전체 카테고리 - 상위 카테고리가 항상 하위보다 먼저 오도록 depth 순서
+     */
+    public List<Category> findAllOrderByDepth() {
+        return em.createQuery("select c from Category c order by c.depth, c.id", Category.class)
+                .getResultList();
+    }
+
+    /**
+     * 이동한 카테고리의 하위 트리 path / depth 를 UPDATE 한번으로 변경 (하위 카테고리를 재귀로 조회하지 않음)
+     * - path 가 oldSubtreePath 로 시작하는 카테고리의 앞부분을 newSubtreePath 로 교체 (category.path 인덱스)
+     * - 영속성 컨텍스트에 있는 하위 카테고리는 갱신되지 않으므로 이동 후 같은 트랜잭션에서 하위 카테고리를 사용하지 않음
+     * @return 변경된 하위 카테고리 수
+     */
+    public int updateSubtreePath(String oldSubtreePath, String newSubtreePath, int depthDelta) {
+        return em.createQuery(
+                "update Category c " +
+                        "set c.path = concat(:newSubtreePath, substring(c.path, :suffixStart)), c.depth = c.depth + :depthDelta " +
+                        "where c.path like :oldSubtreePath")
+                .setParameter("newSubtreePath", newSubtreePath)
+                .setParameter("suffixStart", oldSubtreePath.length() + 1)
+                .setParameter("depthDelta", depthDelta)
+                .setParameter("oldSubtreePath", oldSubtreePath + "%")
+                .executeUpdate();
+    }
+
+    /**
+     * 카테고리 하위 트리 전체(자기 자신 포함)에 속한 상품 - 상품 ID 기준 Keyset 페이징
+     * - 하위 트리 카테고리를 path like '{subtreePath}%' 로 재귀 없이 찾고 (category.path 인덱스),
+     *   category_item 을 통해 해당 카테고리의 상품만 Join (상품 테이블 전체를 조회하지 않음)
+     * - 하위 트리의 여러 카테고리에 속한 상품은 distinct 로 한번만 조회
+     * - Hot 상품의 stockQuantity 는 0 이므로 하위 카운터 합계로 다시 채워야 함 (ItemStockService.fillStockQuantities)
+     */
+    public List<ItemListDto> findSubtreeItems(Category category, Long lastItemId, int limit) {
+        return em.createQuery(
+                "select distinct new jpabook.jpashop.repository.item.ItemListDto(i.id, i.name, i.price, i.stockQuantity, i.stockShardCount) " +
+                        "from Category c join c.items i " +
+                        "where (c.id = :categoryId or c.path like :subtreePath) " +
+                        "and i.id > :lastItemId " +
+                        "order by i.id"
+                , ItemListDto.class
+                ).setParameter("categoryId", category.getId())
+                .setParameter("subtreePath", category.getSubtreePath() + "%")
+                .setParameter("lastItemId", lastItemId == null ? 0L : lastItemId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
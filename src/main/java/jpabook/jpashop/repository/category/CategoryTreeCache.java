@@ -0,0 +1,101 @@
+package jpabook.jpashop.repository.category;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.event.CategoryChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 카테고리 트리 캐시
+ * - 전체 카테고리를 한번의 조회로 읽어 메모리에서 트리를 구성, 카테고리 등록 / 이동 이벤트로 무효화
+ * - OrderQueryCache 와 같이 세대(generation)를 비교하여 무효화 이후에 저장되는 이전 트리는 사용하지 않음
+ * - 이벤트 발행 시점(트랜잭션 안)과 트랜잭션 완료 후 두 번 무효화
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Tree tree;
+
+    /**
+     * 루트 카테고리 목록 (하위는 CategoryNode.children)
+     */
+    public List<CategoryNode> getRoots() {
+        long current = generation.get();
+        Tree cached = tree;
+        if (cached != null && cached.generation == current) {
+            return cached.roots;
+        }
+
+        Tree loaded = new Tree(current, load());
+        tree = loaded;
+        return loaded.roots;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        tree = null;
+    }
+
+    @EventListener(CategoryChangedEvent.class)
+    public void onChanged() {
+        invalidate();
+    }
+
+    @TransactionalEventListener(
+            classes = CategoryChangedEvent.class
+            , phase = TransactionPhase.AFTER_COMPLETION
+            , fallbackExecution = true
+    )
+    public void afterChanged() {
+        invalidate();
+    }
+
+    private List<CategoryNode> load() {
+        Map<Long, CategoryNode> nodes = new HashMap<>();
+        List<CategoryNode> roots = new ArrayList<>();
+        for (Category category : categoryRepository.findAllOrderByDepth()) {
+            CategoryNode node = new CategoryNode(category.getId(), category.getName(), category.getPath(), category.getDepth());
+            nodes.put(node.getId(), node);
+
+            CategoryNode parent = category.getDepth() == 0 ? null : nodes.get(parentId(category.getPath()));
+            if (parent == null) {
+                roots.add(node);
+            } else {
+                parent.addChild(node);
+            }
+        }
+        return Collections.unmodifiableList(roots);
+    }
+
+    /**
+     * path 의 마지막 ID 가 상위 카테고리 (ex. "/1/5/" -> 5) - 상위 Proxy 를 초기화하지 않기 위해 path 에서 계산
+     */
+    private static Long parentId(String path) {
+        int end = path.length() - 1;
+        int start = path.lastIndexOf('/', end - 1) + 1;
+        return Long.valueOf(path.substring(start, end));
+    }
+
+    private static class Tree {
+        private final long generation;
+        private final List<CategoryNode> roots;
+
+        Tree(long generation, List<CategoryNode> roots) {
+            this.generation = generation;
+            this.roots = roots;
+        }
+    }
+}
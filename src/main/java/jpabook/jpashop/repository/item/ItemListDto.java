@@ -0,0 +1,35 @@
+package jpabook.jpashop.repository.item;
+
+import lombok.Data;
+
+/**
+ * 상품 목록 / 주문 상품 선택 / 카테고리 상품 조회용 DTO - 목록에 표시하는 컬럼만 조회
+ * - Hot 상품(stockShardCount > 0)의 stockQuantity 는 하위 카운터 합계로 다시 채움 (ItemStockService.fillStockQuantities)
+ */
+@Data
+public class ItemListDto {
+
+    private Long id;
+    private String name;
+    private int price;
+    private int stockQuantity;
+    private int stockShardCount;
+
+    public ItemListDto(
+            Long id
+            , String name
+            , int price
+            , int stockQuantity
+            , int stockShardCount
+    ) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.stockShardCount = stockShardCount;
+    }
+
+    public boolean isHotStock() {
+        return stockShardCount > 0;
+    }
+}
@@ -0,0 +1,28 @@
+package jpabook.jpashop.repository.member.query;
+
+import lombok.Data;
+
+/**
+ * 회원별 주문 집계
+ * - orderCount : 주문 건수, totalSpend : 주문 금액 합계 (주문 가격 * 수량)
+ */
+@Data
+public class MemberOrderStatsDto {
+
+    private Long memberId;
+    private String name;
+    private long orderCount;
+    private long totalSpend;
+
+    public MemberOrderStatsDto(
+            Long memberId
+            , String name
+            , Long orderCount
+            , Long totalSpend
+    ) {
+        this.memberId = memberId;
+        this.name = name;
+        this.orderCount = orderCount == null ? 0 : orderCount;
+        this.totalSpend = totalSpend == null ? 0 : totalSpend;
+    }
+}
@@ -0,0 +1,81 @@
+package jpabook.jpashop.repository.member.query;
+
+import jpabook.jpashop.repository.OrderSearch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * 회원별 주문 건수 / 주문 금액 집계 - DB 에서 group by 로 계산하여 DTO 로 직접 조회
+ * - Member.orders / OrderItem Entity 를 조회하지 않으므로 주문이 많은 회원도 집계 결과 Row 만 전송
+ * - 검색 조건은 OrderSearch 의 주문 상태, 주문 일시 범위(이상 / 미만)만 사용
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberOrderStatsRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 회원 한명의 주문 상태별 집계 (주문이 없는 상태는 결과에 포함되지 않음)
+     */
+    public List<MemberOrderStatusStatsDto> findStatusStats(Long memberId, OrderSearch orderSearch) {
+        String jpql = "select new jpabook.jpashop.repository.member.query.MemberOrderStatusStatsDto(o.status, count(distinct o.id), sum(oi.orderPrice * oi.count)) from OrderItem oi " +
+                "join oi.order o " +
+                "where o.member.id = :memberId" +
+                conditions(orderSearch) +
+                " group by o.status";
+
+        TypedQuery<MemberOrderStatusStatsDto> query = em.createQuery(jpql, MemberOrderStatusStatsDto.class)
+                .setParameter("memberId", memberId);
+        return bind(query, orderSearch).getResultList();
+    }
+
+    /**
+     * 주문 금액 상위 회원 (offset 페이징, 금액이 같으면 회원 ID 순서)
+     */
+    public List<MemberOrderStatsDto> findTopSpenders(OrderSearch orderSearch, int offset, int limit) {
+        String jpql = "select new jpabook.jpashop.repository.member.query.MemberOrderStatsDto(m.id, m.name, count(distinct o.id), sum(oi.orderPrice * oi.count)) from OrderItem oi " +
+                "join oi.order o " +
+                "join o.member m " +
+                "where 1 = 1" +
+                conditions(orderSearch) +
+                " group by m.id, m.name" +
+                " order by sum(oi.orderPrice * oi.count) desc, m.id";
+
+        TypedQuery<MemberOrderStatsDto> query = em.createQuery(jpql, MemberOrderStatsDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        return bind(query, orderSearch).getResultList();
+    }
+
+    private static String conditions(OrderSearch orderSearch) {
+        String jpql = "";
+        if (orderSearch.getOrderStatus() != null) {
+            jpql += " and o.status = :status";
+        }
+        if (orderSearch.getOrderDateFrom() != null) {
+            jpql += " and o.orderDate >= :orderDateFrom";
+        }
+        if (orderSearch.getOrderDateTo() != null) {
+            jpql += " and o.orderDate < :orderDateTo";
+        }
+        return jpql;
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, OrderSearch orderSearch) {
+        if (orderSearch.getOrderStatus() != null) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+        if (orderSearch.getOrderDateFrom() != null) {
+            query.setParameter("orderDateFrom", orderSearch.getOrderDateFrom());
+        }
+        if (orderSearch.getOrderDateTo() != null) {
+            query.setParameter("orderDateTo", orderSearch.getOrderDateTo());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,25 @@
+package jpabook.jpashop.repository.member.query;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+/**
+ * 회원의 주문 상태별 집계
+ */
+@Data
+public class MemberOrderStatusStatsDto {
+
+    private OrderStatus orderStatus;
+    private long orderCount;
+    private long totalSpend;
+
+    public MemberOrderStatusStatsDto(
+            OrderStatus orderStatus
+            , Long orderCount
+            , Long totalSpend
+    ) {
+        this.orderStatus = orderStatus;
+        this.orderCount = orderCount == null ? 0 : orderCount;
+        this.totalSpend = totalSpend == null ? 0 : totalSpend;
+    }
+}
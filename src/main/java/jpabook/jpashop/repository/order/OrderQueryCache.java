@@ -0,0 +1,106 @@
+package jpabook.jpashop.repository.order;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jpabook.jpashop.domain.event.ItemChangedEvent;
+import jpabook.jpashop.domain.event.MemberChangedEvent;
+import jpabook.jpashop.domain.event.OrderChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 주문 DTO 조회 결과 캐시 (OrderSimpleQueryRepository, OrderQueryRepository)
+ * - 시간 만료 없이 주문 생성 / 취소, 주문에 노출되는 회원 / 상품 변경 이벤트로 무효화
+ * - 무효화할 때마다 세대(generation)를 증가시키고, 현재 세대를 포함한 key 로만 조회
+ *   -> 쓰기 트랜잭션과 동시에 실행된 조회가 이전 세대로 저장하더라도 다음 조회에서 사용되지 않음
+ * - 이벤트 발행 시점(트랜잭션 안)과 트랜잭션 완료 후 두 번 무효화하여 커밋 전에 읽은 값이 남지 않음
+ * - 전체 결과 Row 수를 max-rows 로 제한 (초과시 오래 사용하지 않은 결과부터 제거, 한 결과가 상한보다 크면 보관하지 않음)
+ * - 같은 key 를 동시에 조회하면 한 요청만 DB 를 조회하고 나머지는 그 결과를 기다림 (무효화 직후 동시 조회 폭주 방지)
+ *   -> 캐시에는 결과를 받을 Future 만 먼저 등록하고, DB 조회는 등록한 요청의 스레드(트랜잭션)에서 캐시 Lock 밖에서 실행
+ * - 결과는 불변 List 로 보관하고 DTO 도 불변 (여러 요청이 같은 객체를 공유)
+ */
+@Component
+public class OrderQueryCache {
+
+    private final boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+    private final AsyncCache<String, List<?>> entries;
+
+    public OrderQueryCache(
+            @Value("${jpashop.query-cache.enabled:true}") boolean enabled
+            , @Value("${jpashop.query-cache.max-rows:100000}") long maxRows
+    ) {
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((String key, List<?> value) -> Math.max(1, value.size()))
+                .buildAsync();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String key, Supplier<List<T>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CompletableFuture<List<?>> loading = new CompletableFuture<>();
+        CompletableFuture<List<?>> cached = entries.asMap().putIfAbsent(generation.get() + ":" + key, loading);
+        if (cached != null) {
+            return (List<T>) join(cached);
+        }
+
+        try {
+            List<T> result = List.copyOf(loader.get());
+            loading.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);   // 실패한 Future 는 캐시에서 제거됨
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.synchronous().invalidateAll();
+    }
+
+    @EventListener({OrderChangedEvent.class, ItemChangedEvent.class, MemberChangedEvent.class})
+    public void onChanged() {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(
+            classes = {OrderChangedEvent.class, ItemChangedEvent.class, MemberChangedEvent.class}
+            , phase = TransactionPhase.AFTER_COMPLETION
+            , fallbackExecution = true
+    )
+    public void afterChanged() {
+        invalidateAll();
+    }
+
+    /**
+     * 다른 요청이 조회 중인 결과를 기다림 - 조회가 실패하면 같은 예외로 실패
+     */
+    private static List<?> join(CompletableFuture<List<?>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -2,14 +2,15 @@ package jpabook.jpashop.repository.order.query;
 
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.OrderStatus;
-import lombok.Data;
-import lombok.Getter;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Data
-@Getter
+/**
+ * 불변 DTO - OrderQueryCache 에 보관되어 여러 요청이 같은 객체를 공유
+ */
+@Value
 public class OrderFlatDto {
 
     private Long orderId;
@@ -1,9 +1,12 @@
 package jpabook.jpashop.repository.order.query;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.Data;
+import lombok.Value;
 
-@Data
+/**
+ * 불변 DTO - OrderQueryCache 에 보관되어 여러 요청이 같은 객체를 공유
+ */
+@Value
 public class OrderItemQueryDto {
 
     @JsonIgnore
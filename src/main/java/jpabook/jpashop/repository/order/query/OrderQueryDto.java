@@ -2,13 +2,16 @@ package jpabook.jpashop.repository.order.query;
 
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.OrderStatus;
-import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Data
+/**
+ * 불변 DTO - OrderQueryCache 에 보관되어 여러 요청이 같은 객체를 공유 (주문상품은 withOrderItems 로 새 객체 생성)
+ */
+@Value
 @EqualsAndHashCode(of = "orderId")
 public class OrderQueryDto {
 
@@ -32,6 +35,7 @@ public class OrderQueryDto {
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.orderItems = null;
         // this.orderItems = orderItems;
     }
 
@@ -48,6 +52,10 @@ public class OrderQueryDto {
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
-        this.orderItems = orderItems;
+        this.orderItems = orderItems == null ? null : List.copyOf(orderItems);
+    }
+
+    public OrderQueryDto withOrderItems(List<OrderItemQueryDto> orderItems) {
+        return new OrderQueryDto(orderId, name, orderDate, orderStatus, address, orderItems);
     }
 }
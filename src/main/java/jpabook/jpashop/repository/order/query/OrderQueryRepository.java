@@ -1,23 +1,40 @@
 package jpabook.jpashop.repository.order.query;
 
+import jpabook.jpashop.repository.ChunkedInQueryExecutor;
+import jpabook.jpashop.repository.order.OrderQueryCache;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 극한의 성능 최적화를 위해 API 스펙에 맞춰 필수 데이터만 조회하여 DTO로 직접 받는 클래스로 구성
  * -> 기본 Repository에서 별도로 구성한 이유는 논리적으로 보면 일반 Repository는 순수하게 Entity와 관련된 정보를 가공 없이 그대로 조회
  * -> 특정 목적에 맞춘 조회 Entity라는 것을 별도로 구분하여 다른 위치에서 사용하는 것을 최대한 방지할 수 있는 유지보수적 이점 제공
+ * -> 전체 조회 결과는 OrderQueryCache 에 보관하고 주문 생성 / 취소 시 무효화
  */
 @Repository
 @RequiredArgsConstructor
 public class OrderQueryRepository {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final String FLAT_SORTED_QUERY =
+            "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count) from Order o " +
+                    "join o.member m " +
+                    "join o.delivery d " +
+                    "join o.orderItems oi " +
+                    "join oi.item i " +
+                    "order by o.id, oi.id";
+
     private final EntityManager em;
+    private final ChunkedInQueryExecutor chunkedInQueryExecutor;
+    private final OrderQueryCache orderQueryCache;
 
     /**
      * @xToMany 컬렉션 조회 DTO 직접 조회 - Where orderId = ? 로 비교하여 orderId 만큼 요청이 발생 
@@ -25,14 +42,13 @@ public class OrderQueryRepository {
      * - @xToMany 연관관계에서는 1:N 관계이기 때문에 반복문으로 OrderId를 활용하여 조회 - Row 증가 O
      */
     public List<OrderQueryDto> findOrderQueryDtos() {
-        List<OrderQueryDto> result = findOrders();
+        return orderQueryCache.get("query.findOrderQueryDtos", () -> {
+            List<OrderQueryDto> result = findOrders();
 
-        result.stream().forEach(n -> {
-            List<OrderItemQueryDto> orderItems = findOrderItems(n.getOrderId());
-            n.setOrderItems(orderItems);
+            return result.stream()
+                    .map(n -> n.withOrderItems(findOrderItems(n.getOrderId())))
+                    .collect(Collectors.toList());
         });
-
-        return result;
     }
 
     public List<OrderItemQueryDto> findOrderItems(Long orderId) {
@@ -56,24 +72,30 @@ public class OrderQueryRepository {
     /**
      * @xToMany 컬렉션 조회 DTO 직접 조회 최적화 (일반적으로 2번 조회에 가능, IN에 들어가는 식별자 ID 값이 일정 범위(1000)을 넘어가면 3번 이상 발생 가능)
      * - Where orderId IN (?...) 형태로 조회하여 메모리상에서 연산
+     * - IN 절은 jpashop.query.in-chunk-size 단위로 나누어 조회 (in-parallelism 설정 시 조각별 동시 조회)
      */
     public List<OrderQueryDto> findAllByDto_optimization() {
-        List<OrderQueryDto> result = findOrders();
+        return orderQueryCache.get("query.findAllByDto_optimization", () -> {
+            List<OrderQueryDto> result = findOrders();
 
-        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
+            Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
 
-        result.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
-        return result;
+            return result.stream()
+                    .map(o -> o.withOrderItems(orderItemMap.get(o.getOrderId())))
+                    .collect(Collectors.toList());
+        });
     }
 
     private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
-        List<OrderItemQueryDto> orderItems = em.createQuery(
-                "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count) from OrderItem oi " +
-                        "join oi.item i " +
-                        "where oi.order.id in :orderIds"
-                , OrderItemQueryDto.class
-                ).setParameter("orderIds" , orderIds)
-                .getResultList();
+        List<OrderItemQueryDto> orderItems = chunkedInQueryExecutor.execute(orderIds, (entityManager, chunk) ->
+                entityManager.createQuery(
+                        "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count) from OrderItem oi " +
+                                "join oi.item i " +
+                                "where oi.order.id in :orderIds"
+                        , OrderItemQueryDto.class
+                        ).setParameter("orderIds" , chunk)
+                        .getResultList()
+        );
 
         Map<Long, List<OrderItemQueryDto>> orderItemMap =
                 orderItems.stream().collect(Collectors.groupingBy(OrderItemQueryDto -> OrderItemQueryDto.getOrderId()));
@@ -90,13 +112,63 @@ public class OrderQueryRepository {
      * 한번에 조회 가능
      */
     public List<OrderFlatDto> findAllByDto_flat() {
-        return em.createQuery(
+        return orderQueryCache.get("query.findAllByDto_flat", () -> em.createQuery(
                 "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count) from Order o " +
                         "join o.member m " +
                         "join o.delivery d " +
                         "join o.orderItems oi " +
                         "join oi.item i"
                 , OrderFlatDto.class
-        ).getResultList();
+        ).getResultList());
+    }
+
+    /**
+     * 한번에 조회 + orderId 정렬
+     * - 같은 주문의 Row 가 연속으로 조회되기 때문에 Map 없이 한번의 순회로 주문/주문상품 조립 가능, 응답 순서도 항상 동일
+     */
+    public List<OrderFlatDto> findAllByDto_flatSorted() {
+        return em.createQuery(FLAT_SORTED_QUERY, OrderFlatDto.class).getResultList();
+    }
+
+    /**
+     * orderId 로 정렬된 flat Row 를 한번의 순회로 주문/주문상품 DTO 조립
+     * - groupingBy 처럼 Row 마다 Key 객체, HashMap Entry 를 만들지 않고 주문당 OrderQueryDto 1개만 생성
+     */
+    public List<OrderQueryDto> findAllByDto_flatGrouped() {
+        return orderQueryCache.get("query.findAllByDto_flatGrouped", () -> {
+            List<OrderFlatDto> flats = findAllByDto_flatSorted();
+
+            List<OrderQueryDto> result = new ArrayList<>();
+            OrderFlatDto current = null;
+            List<OrderItemQueryDto> orderItems = new ArrayList<>();
+            for (OrderFlatDto flat : flats) {
+                if (current != null && !current.getOrderId().equals(flat.getOrderId())) {
+                    result.add(toOrderQueryDto(current, orderItems));
+                    orderItems.clear();
+                }
+                current = flat;
+                orderItems.add(new OrderItemQueryDto(flat.getOrderId(), flat.getItemName(), flat.getOrderPrice(), flat.getCount()));
+            }
+            if (current != null) {
+                result.add(toOrderQueryDto(current, orderItems));
+            }
+            return result;
+        });
+    }
+
+    private static OrderQueryDto toOrderQueryDto(OrderFlatDto flat, List<OrderItemQueryDto> orderItems) {
+        return new OrderQueryDto(flat.getOrderId(), flat.getName(), flat.getOrderDate(), flat.getOrderStatus(), flat.getAddress(), orderItems);
+    }
+
+    /**
+     * 전체 주문 내보내기용 조회 - 결과를 List 로 모으지 않고 Forward-only Cursor 로 한 Row 씩 읽음
+     * - fetch size 단위로만 DB에서 가져오기 때문에 주문 건수와 관계없이 일정한 메모리 사용
+     * - 반드시 트랜잭션 안에서 사용하고, 사용 후 Stream 을 close 해야 Connection 이 반환됨
+     */
+    public Stream<OrderFlatDto> streamAllByDto_flat() {
+        return em.createQuery(FLAT_SORTED_QUERY, OrderFlatDto.class)
+                .setHint(QueryHints.FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultStream();
     }
 }
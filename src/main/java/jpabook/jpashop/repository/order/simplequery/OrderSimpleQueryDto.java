@@ -2,11 +2,14 @@ package jpabook.jpashop.repository.order.simplequery;
 
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.OrderStatus;
-import lombok.Data;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 
-@Data
+/**
+ * 불변 DTO - OrderQueryCache 에 보관되어 여러 요청이 같은 객체를 공유
+ */
+@Value
 public class OrderSimpleQueryDto {
 
     private Long orderId;
@@ -0,0 +1,74 @@
+package jpabook.jpashop.repository.order.summary;
+
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryRepository {
+
+    private final EntityManager em;
+
+    public void save(OrderSummary summary) {
+        em.persist(summary);
+    }
+
+    /**
+     * Keyset 페이징 - order_summary 한 테이블만 PK 순서로 조회
+     * - lastOrderId 가 null 이면 첫 페이지
+     */
+    public List<OrderSummary> findAllAfter(Long lastOrderId, int limit) {
+        return em.createQuery(
+                "select s from OrderSummary s " +
+                        "where s.orderId > :lastOrderId " +
+                        "order by s.orderId"
+                , OrderSummary.class
+                ).setParameter("lastOrderId", lastOrderId == null ? 0L : lastOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 요약을 주문 ID 순서로 비관적 Lock 으로 조회 (요약 재생성)
+     * - 재생성 중인 요약에 대한 취소 / 회원명 변경 UPDATE 는 재생성 트랜잭션이 끝날 때까지 대기하므로 재생성 값으로 덮어쓰이지 않음
+     */
+    public List<OrderSummary> findAllForUpdate(List<Long> orderIds) {
+        return em.createQuery("select s from OrderSummary s where s.orderId in :orderIds order by s.orderId", OrderSummary.class)
+                .setParameter("orderIds", orderIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    public int updateStatus(List<Long> orderIds, OrderStatus status) {
+        return em.createQuery("update OrderSummary s set s.status = :status where s.orderId in :orderIds")
+                .setParameter("status", status)
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
+
+    /**
+     * 주문 요약의 전체 주문 가격 / 주문 상품 종류 수를 주문의 현재 값으로 갱신 (주문 가격 Backfill)
+     */
+    public int updateTotals(List<Long> orderIds) {
+        return em.createQuery(
+                "update OrderSummary s set " +
+                        "s.totalPrice = (select o.totalPrice from Order o where o.id = s.orderId), " +
+                        "s.itemCount = (select o.lineCount from Order o where o.id = s.orderId) " +
+                        "where s.orderId in :orderIds")
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
+
+    public int updateMemberName(Long memberId, String memberName) {
+        return em.createQuery("update OrderSummary s set s.memberName = :memberName where s.memberId = :memberId")
+                .setParameter("memberName", memberName)
+                .setParameter("memberId", memberId)
+                .executeUpdate();
+    }
+}
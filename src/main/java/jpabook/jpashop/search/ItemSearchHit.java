@@ -0,0 +1,18 @@
+package jpabook.jpashop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 검색 결과 - 목록 표시용 요약 (DB 조회 없이 색인에 보관된 값)
+ * - type : Book / Album / Movie
+ */
+@Getter
+@AllArgsConstructor
+public class ItemSearchHit {
+    private final Long itemId;
+    private final String type;
+    private final String name;
+    private final int price;
+    private final int score;
+}
@@ -0,0 +1,262 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.hibernate.Hibernate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 상품 검색 역색인 (메모리)
+ * - 색인 대상 : 상품명, Book 저자 / ISBN, Album 아티스트, Movie 감독 / 배우
+ * - 토큰 : 글자 / 숫자가 아닌 문자로 나누고 소문자로 변환, ISBN 은 구분자를 제거한 전체 값도 토큰으로 색인
+ * - 검색어의 모든 토큰이 일치해야 결과에 포함 (AND), 각 토큰은 전체 일치 또는 앞부분 일치 (prefix)
+ * - 점수 : 토큰별로 일치한 필드 가중치의 합, 전체 일치는 가중치 2배 -> 점수 높은 순, 같으면 상품 ID 순
+ *
+ * - 검색은 후보가 가장 적은 토큰의 Posting 으로 후보를 만든 뒤 나머지 토큰은 상품별 토큰 목록으로 확인
+ * - 후보는 MAX_CANDIDATES 건까지만 점수 계산 (짧은 검색어 / 흔한 토큰으로 전체 상품을 점수 계산하지 않도록 제한)
+ *   -> 사전 순서(전체 일치 토큰이 먼저)로 후보를 모으고, 잘린 경우 결과에 truncated 로 알림 (더 긴 검색어로 다시 검색)
+ * - 상품 단위 갱신은 documents.compute 로 직렬화, 비워진 Posting 은 사전에 남겨두고 재생성 시 정리
+ */
+public class ItemSearchIndex {
+
+    static final int MAX_CANDIDATES = 5_000;
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int PERSON_WEIGHT = 3;    // 저자 / 아티스트 / 감독
+    private static final int ISBN_WEIGHT = 3;
+    private static final int ACTOR_WEIGHT = 2;
+
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final NavigableSet<String> dictionary = new ConcurrentSkipListSet<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    public void put(Item item) {
+        Document document = Document.of(item);
+        documents.compute(document.hit.getItemId(), (id, old) -> {
+            if (old != null) {
+                removePostings(id, old);
+            }
+            document.termWeights.forEach((term, weight) -> {
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(id, weight);
+                dictionary.add(term);
+            });
+            return document;
+        });
+    }
+
+    public void remove(Long itemId) {
+        documents.computeIfPresent(itemId, (id, old) -> {
+            removePostings(id, old);
+            return null;
+        });
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public ItemSearchResult search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit < 1) {
+            return ItemSearchResult.EMPTY;
+        }
+
+        String rarest = null;
+        long rarestCount = Long.MAX_VALUE;
+        for (String token : tokens) {
+            long count = countCandidates(token, rarestCount);
+            if (count < rarestCount) {
+                rarest = token;
+                rarestCount = count;
+            }
+        }
+        if (rarestCount == 0) {
+            return ItemSearchResult.EMPTY;
+        }
+        Set<Long> candidates = new HashSet<>();
+        boolean truncated = collectCandidates(rarest, candidates);
+
+        Comparator<Scored> ranking = Comparator.comparingInt((Scored s) -> s.score).reversed()
+                .thenComparing(s -> s.document.hit.getItemId());
+        PriorityQueue<Scored> top = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, ranking.reversed());
+        for (Long id : candidates) {
+            Document document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+            int score = document.score(tokens);
+            if (score > 0) {
+                top.add(new Scored(document, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Scored> sorted = new ArrayList<>(top);
+        sorted.sort(ranking);
+        List<ItemSearchHit> hits = new ArrayList<>(sorted.size());
+        for (Scored scored : sorted) {
+            ItemSearchHit hit = scored.document.hit;
+            hits.add(new ItemSearchHit(hit.getItemId(), hit.getType(), hit.getName(), hit.getPrice(), scored.score));
+        }
+        return new ItemSearchResult(hits, truncated);
+    }
+
+    /**
+     * 토큰과 전체 / 앞부분 일치하는 상품 ID 를 사전 순서로 MAX_CANDIDATES 건까지 담음
+     * @return 일치하는 상품이 더 있어서 잘렸는지 여부
+     */
+    private boolean collectCandidates(String token, Set<Long> candidates) {
+        for (String term : prefixTerms(token)) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            for (Long id : posting.keySet()) {
+                if (candidates.size() >= MAX_CANDIDATES && !candidates.contains(id)) {
+                    return true;
+                }
+                candidates.add(id);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 후보 수 추정 - 여러 토큰에 걸친 상품은 중복으로 셈 (Posting 크기 합계)
+     * - 이미 찾은 가장 적은 후보 수나 MAX_CANDIDATES 를 넘으면 더 세지 않음 (흔한 토큰의 사전 전체를 순회하지 않도록)
+     */
+    private long countCandidates(String token, long rarestCount) {
+        long limit = Math.min(rarestCount, MAX_CANDIDATES + 1L);
+        long count = 0;
+        for (String term : prefixTerms(token)) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                count += posting.size();
+                if (count >= limit) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private Set<String> prefixTerms(String token) {
+        return dictionary.subSet(token, true, token + Character.MAX_VALUE, false);
+    }
+
+    private void removePostings(Long id, Document document) {
+        for (String term : document.termWeights.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static class Document {
+        private final ItemSearchHit hit;
+        private final Map<String, Integer> termWeights = new HashMap<>();    // 토큰 -> 일치한 필드 중 가장 큰 가중치
+
+        private Document(ItemSearchHit hit) {
+            this.hit = hit;
+        }
+
+        static Document of(Item item) {
+            Item target = (Item) Hibernate.unproxy(item);
+            Document document = new Document(new ItemSearchHit(target.getId(), target.getClass().getSimpleName(), target.getName(), target.getPrice(), 0));
+            document.add(target.getName(), NAME_WEIGHT);
+
+            if (target instanceof Book) {
+                Book book = (Book) target;
+                document.add(book.getAuthor(), PERSON_WEIGHT);
+                document.add(book.getIsbn(), ISBN_WEIGHT);
+                if (book.getIsbn() != null) {
+                    document.add(String.join("", tokenize(book.getIsbn())), ISBN_WEIGHT);
+                }
+            } else if (target instanceof Album) {
+                document.add(((Album) target).getArtist(), PERSON_WEIGHT);
+            } else if (target instanceof Movie) {
+                document.add(((Movie) target).getDirector(), PERSON_WEIGHT);
+                document.add(((Movie) target).getActor(), ACTOR_WEIGHT);
+            }
+            return document;
+        }
+
+        private void add(String text, int weight) {
+            for (String term : tokenize(text)) {
+                termWeights.merge(term, weight, Math::max);
+            }
+        }
+
+        /**
+         * 모든 토큰이 일치하면 점수, 하나라도 일치하지 않으면 0
+         */
+        int score(List<String> tokens) {
+            int score = 0;
+            for (String token : tokens) {
+                Integer exact = termWeights.get(token);
+                int best = exact == null ? 0 : exact * 2;
+                if (exact == null) {
+                    for (Map.Entry<String, Integer> entry : termWeights.entrySet()) {
+                        if (entry.getKey().startsWith(token)) {
+                            best = Math.max(best, entry.getValue());
+                        }
+                    }
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                score += best;
+            }
+            return score;
+        }
+    }
+
+    private static class Scored {
+        private final Document document;
+        private final int score;
+
+        Scored(Document document, int score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
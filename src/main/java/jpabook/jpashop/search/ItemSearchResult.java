@@ -0,0 +1,21 @@
+package jpabook.jpashop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 검색 결과
+ * - truncated : 일치하는 상품이 후보 상한(ItemSearchIndex.MAX_CANDIDATES)보다 많아 일부만 점수 계산한 경우 true
+ *   -> 점수가 더 높은 상품이 결과에서 빠졌을 수 있으므로 더 긴 검색어로 다시 검색
+ */
+@Getter
+@AllArgsConstructor
+public class ItemSearchResult {
+
+    static final ItemSearchResult EMPTY = new ItemSearchResult(List.of(), false);
+
+    private final List<ItemSearchHit> hits;
+    private final boolean truncated;
+}
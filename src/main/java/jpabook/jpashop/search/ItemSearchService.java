@@ -0,0 +1,139 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.domain.event.ItemChangedEvent;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 상품 검색 (ItemSearchIndex) 갱신 / 재생성
+ * - 상품 등록 / 수정 이벤트(ItemService.saveItem, updateBook)를 커밋 이후에 받아 해당 상품만 다시 색인
+ * - 기동 완료 시점에 전체 재생성 : 상품 ID 를 rebuildChunkSize 개씩 나누어 rebuildThreads 개 스레드에서 동시에 조회 / 색인
+ *   -> 새 색인을 모두 만든 뒤 교체하므로 재생성 중에도 이전 색인으로 검색 가능
+ *   -> 재생성 중에 변경된 상품은 교체 이후 다시 색인 (재생성이 읽은 이전 값으로 덮어쓰지 않도록)
+ */
+@Slf4j
+@Service
+public class ItemSearchService {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate tx;
+    private final boolean rebuildOnStartup;
+    private final int rebuildThreads;
+    private final int rebuildChunkSize;
+
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+    private volatile Set<Long> changedDuringRebuild;
+
+    public ItemSearchService(
+            ItemRepository itemRepository
+            , PlatformTransactionManager transactionManager
+            , @Value("${jpashop.search.rebuild-on-startup:true}") boolean rebuildOnStartup
+            , @Value("${jpashop.search.rebuild-threads:4}") int rebuildThreads
+            , @Value("${jpashop.search.rebuild-chunk-size:1000}") int rebuildChunkSize
+    ) {
+        this.itemRepository = itemRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setReadOnly(true);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildThreads = rebuildThreads;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public ItemSearchResult search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.getItemId());
+        }
+        reindex(event.getItemId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 전체 재생성
+     * @return 색인된 상품 수
+     */
+    public synchronized int rebuild() {
+        long startedAt = System.currentTimeMillis();
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            ItemSearchIndex building = new ItemSearchIndex();
+            List<Future<?>> futures = new ArrayList<>();
+            Long lastItemId = null;
+            while (true) {
+                Long from = lastItemId;
+                List<Long> itemIds = tx.execute(status -> itemRepository.findIdsAfter(from, rebuildChunkSize));
+                if (itemIds.isEmpty()) {
+                    break;
+                }
+                futures.add(executor.submit(() -> tx.executeWithoutResult(status ->
+                        itemRepository.findAllById(itemIds).forEach(building::put))));
+                lastItemId = itemIds.get(itemIds.size() - 1);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            index = building;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("상품 검색 색인 재생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("상품 검색 색인 재생성에 실패했습니다.", e.getCause());
+        } finally {
+            changedDuringRebuild = null;
+            executor.shutdownNow();
+        }
+
+        changed.forEach(this::reindex);
+        log.info("item search index rebuilt : {} items, {} ms", index.size(), System.currentTimeMillis() - startedAt);
+        return index.size();
+    }
+
+    private void reindex(Long itemId) {
+        tx.executeWithoutResult(status -> {
+            Item item = itemRepository.findOne(itemId);
+            if (item == null) {
+                index.remove(itemId);
+            } else {
+                index.put(item);
+            }
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 일괄 취소 결과 - 취소된 주문과 건너뛴 주문(사유)
+ */
+@Getter
+@AllArgsConstructor
+public class BulkCancelResult {
+    private final List<Long> canceledOrderIds;
+    private final List<Skipped> skipped;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Skipped {
+        private final Long orderId;
+        private final String reason;
+    }
+}
@@ -0,0 +1,116 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.event.CategoryChangedEvent;
+import jpabook.jpashop.repository.category.CategoryNode;
+import jpabook.jpashop.repository.category.CategoryRepository;
+import jpabook.jpashop.repository.category.CategoryTreeCache;
+import jpabook.jpashop.repository.item.ItemListDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ItemStockService itemStockService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 카테고리 등록 (parentId 가 없으면 루트)
+     * - 상위 카테고리를 잠근 후 path 를 읽음 -> 이동 중인 하위 트리에 등록해도 이동이 커밋된 후의 path 로 생성
+     */
+    @Transactional
+    public Long create(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        if (parentId != null) {
+            categoryRepository.findAllForUpdate(List.of(parentId));
+            findCategory(parentId).addChildCategory(category);
+        }
+        categoryRepository.save(category);
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return category.getId();
+    }
+
+    /**
+     * 상위 카테고리 변경 - 하위 트리 전체의 path 가 함께 변경됨 (하위 트리는 UPDATE 한번)
+     * - 순환 검사 전에 이동할 카테고리 / 새 상위 카테고리와 그 상위 카테고리들을 잠금 (lockForMove)
+     */
+    @Transactional
+    public void move(Long categoryId, Long parentId) {
+        lockForMove(categoryId, parentId);
+
+        Category category = findCategory(categoryId);
+        String oldSubtreePath = category.getSubtreePath();
+        int oldDepth = category.getDepth();
+
+        findCategory(parentId).addChildCategory(category);
+        categoryRepository.updateSubtreePath(oldSubtreePath, category.getSubtreePath(), category.getDepth() - oldDepth);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+    }
+
+    public List<CategoryNode> findTree() {
+        return categoryTreeCache.getRoots();
+    }
+
+    /**
+     * 하위 트리 전체의 상품 한 페이지 (Hot 상품 재고는 하위 카운터 합계)
+     */
+    public List<ItemListDto> findSubtreeItems(Long categoryId, Long lastItemId, int limit) {
+        List<ItemListDto> items = categoryRepository.findSubtreeItems(findCategory(categoryId), lastItemId, limit);
+        itemStockService.fillStockQuantities(items);
+        return items;
+    }
+
+    /**
+     * 이동할 카테고리, 새 상위 카테고리와 각각의 상위 카테고리 전체를 ID 순서로 비관적 Lock
+     * - 서로를 하위로 옮기는 이동(A -> B 하위, B -> A 하위)이나 겹치는 하위 트리의 이동은 같은 카테고리를 잠그므로 순서대로 실행
+     *   -> 순환 검사와 하위 트리 path 변경은 먼저 커밋된 이동이 반영된 path 로 실행 (순환 / 섞인 path 가 생기지 않음)
+     * - Lock 을 기다리는 동안 상위 카테고리가 바뀌었으면 새 상위 카테고리도 잠금
+     */
+    private void lockForMove(Long categoryId, Long parentId) {
+        List<Long> targetIds = List.of(categoryId, parentId);
+        Set<Long> lockIds = new TreeSet<>(targetIds);
+        for (Long targetId : targetIds) {
+            String path = categoryRepository.findPath(targetId);
+            if (path != null) {
+                lockIds.addAll(Category.ancestorIds(path));
+            }
+        }
+
+        Set<Long> locked = new HashSet<>();
+        while (!locked.containsAll(lockIds)) {
+            List<Long> ids = lockIds.stream().filter(id -> !locked.contains(id)).collect(Collectors.toList());
+            categoryRepository.findAllForUpdate(ids);
+            locked.addAll(ids);
+
+            for (Long targetId : targetIds) {
+                Category target = categoryRepository.findOne(targetId);
+                if (target != null) {
+                    lockIds.addAll(Category.ancestorIds(target.getPath()));
+                }
+            }
+        }
+    }
+
+    private Category findCategory(Long categoryId) {
+        Category category = categoryRepository.findOne(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다.");
+        }
+        return category;
+    }
+}
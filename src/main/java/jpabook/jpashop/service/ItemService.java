@@ -1,12 +1,17 @@
 package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.event.ItemChangedEvent;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemType;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.item.ItemListDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -15,25 +20,40 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ItemStockService itemStockService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void saveItem(Item item) {
         itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
     }
 
-    public List<Item> findItems() {
-        return itemRepository.findAll();
+    /**
+     * 상품 목록 한 페이지 - DTO 직접 조회, 상품 ID 기준 Keyset 페이징 (types 가 없으면 전체 종류)
+     */
+    public List<ItemListDto> findItemPage(Collection<ItemType> types, Long lastItemId, int limit) {
+        List<ItemListDto> items = itemRepository.findListAfter(types, lastItemId, limit);
+        itemStockService.fillStockQuantities(items);
+        return items;
     }
 
     public Item findOne(Long itemId) {
         return itemRepository.findOne(itemId);
     }
 
+    public List<Item> findItems(Collection<Long> itemIds) {
+        return itemIds.isEmpty() ? List.of() : itemRepository.findAllById(itemIds);
+    }
+
     @Transactional
     public void updateBook(Book param) {
         Item findItem = itemRepository.findOne(param.getId());
         findItem.setName(param.getName());
         findItem.setPrice(param.getPrice());
-        findItem.setStockQuantity(param.getStockQuantity());
+        if (!findItem.isHotStock()) {      // Hot 상품의 재고는 하위 카운터로만 변경 (ItemStockService)
+            findItem.setStockQuantity(param.getStockQuantity());
+        }
+        eventPublisher.publishEvent(new ItemChangedEvent(findItem.getId()));
     }
 }
@@ -0,0 +1,224 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemStockShard;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.ItemStockShardRepository;
+import jpabook.jpashop.repository.item.ItemListDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 재고 변경
+ * - 일반 상품 : item Row 하나를 조건부 UPDATE
+ * - Hot 상품 : 재고를 N개의 하위 카운터(ItemStockShard)로 나누고, 임의의 카운터부터 조건부 UPDATE 하여 Lock 경합 분산
+ * - 재고 변경 메서드는 호출한 쪽의 트랜잭션에서 실행되며, 실패는 예외가 아닌 반환값으로 알림
+ *   -> 예외로 알리면 호출한 트랜잭션 전체가 rollback-only 가 되기 때문에 (일괄 주문 등에서 줄 단위 실패 처리 불가)
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemStockService {
+
+    private final ItemRepository itemRepository;
+    private final ItemStockShardRepository itemStockShardRepository;
+
+    /**
+     * 재고 차감
+     * @return 차감 성공 여부 (재고 부족시 false)
+     */
+    public boolean removeStock(Item item, int quantity) {
+        if (!item.isHotStock()) {
+            boolean removed = itemRepository.removeStock(item.getId(), quantity);
+            if (removed) {
+                itemRepository.syncStockQuantity(item, -quantity);
+            }
+            return removed;
+        }
+
+        int shardCount = item.getStockShardCount();
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            if (itemStockShardRepository.removeStock(item.getId(), (start + i) % shardCount, quantity)) {
+                return true;
+            }
+        }
+        return removeStockAcrossShards(item, quantity);
+    }
+
+    /**
+     * 비관적 Lock 으로 조회한 상품의 재고 차감 (ItemRepository.findAllNormalForUpdate)
+     * - 일반 상품은 메모리에서 차감 후 dirty checking 으로 저장 (flush 시 JDBC Batch UPDATE)
+     * @return 차감 성공 여부 (재고 부족시 false)
+     */
+    public boolean removeLockedStock(Item item, int quantity) {
+        if (item.isHotStock()) {
+            return removeStock(item, quantity);
+        }
+        if (item.getStockQuantity() < quantity) {
+            return false;
+        }
+
+        item.removeStock(quantity);
+        return true;
+    }
+
+    /**
+     * 재고 증가 - Hot 상품은 임의의 하위 카운터 하나에 증가
+     */
+    public void addStock(Item item, int quantity) {
+        if (item.isHotStock()) {
+            addStock(item.getId(), item.getStockShardCount(), quantity);
+            return;
+        }
+
+        if (itemRepository.addStock(item.getId(), quantity)) {
+            itemRepository.syncStockQuantity(item, quantity);
+        } else {
+            addStockLocked(item.getId(), quantity);
+        }
+    }
+
+    /**
+     * 재고 증가 - 상품 Entity 를 조회하지 않는 경우 (일괄 취소)
+     * @param stockShardCount 상품의 하위 카운터 수 (0 : 일반 상품)
+     */
+    public void addStock(Long itemId, int stockShardCount, int quantity) {
+        boolean added = stockShardCount == 0
+                ? itemRepository.addStock(itemId, quantity)
+                : itemStockShardRepository.addStock(itemId, ThreadLocalRandom.current().nextInt(stockShardCount), quantity);
+        if (!added) {
+            addStockLocked(itemId, quantity);
+        }
+    }
+
+    /**
+     * 조회한 이후 Hot 상품 전환 / 해제가 커밋되어 UPDATE 대상이 없는 경우 - item Row 를 잠근 후 현재 상태로 다시 증가
+     * - 전환 / 해제도 item Row Lock 을 잡고 실행하므로, Lock 을 잡은 동안에는 상태가 바뀌지 않아 복구한 재고가 유실되지 않음
+     */
+    private void addStockLocked(Long itemId, int quantity) {
+        Item item = findOneForUpdate(itemId);
+        if (item.isHotStock()) {
+            itemStockShardRepository.addStock(itemId, ThreadLocalRandom.current().nextInt(item.getStockShardCount()), quantity);
+        } else {
+            itemRepository.addStock(itemId, quantity);
+            itemRepository.syncStockQuantity(item, quantity);
+        }
+    }
+
+    /**
+     * 전체 재고 수량 - Hot 상품은 하위 카운터 합계
+     */
+    @Transactional(readOnly = true)
+    public int getStockQuantity(Item item) {
+        if (!item.isHotStock()) {
+            return item.getStockQuantity();
+        }
+        return itemStockShardRepository.sumStock(item.getId());
+    }
+
+    /**
+     * Hot 상품 전환 - 현재 재고를 shardCount 개의 하위 카운터로 균등 분배
+     * - 전환 중에는 item Row 를 잠그므로, 전환 직전에 상품을 조회한 주문은 재고 부족으로 실패할 수 있음
+     */
+    @Transactional
+    public void enableHotStock(Long itemId, int shardCount) {
+        if (shardCount < 2) {
+            throw new IllegalArgumentException("하위 카운터는 2개 이상이어야 합니다.");
+        }
+
+        Item item = findOneForUpdate(itemId);
+        if (item.isHotStock()) {
+            throw new IllegalStateException("이미 Hot 상품입니다.");
+        }
+
+        int stock = item.getStockQuantity();
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            int quantity = stock / shardCount + (shardNo < stock % shardCount ? 1 : 0);
+            itemStockShardRepository.save(ItemStockShard.createShard(item, shardNo, quantity));
+        }
+
+        item.setStockQuantity(0);
+        item.setStockShardCount(shardCount);
+    }
+
+    /**
+     * 일반 상품 전환 - 하위 카운터 합계를 item 재고로 되돌림
+     */
+    @Transactional
+    public void disableHotStock(Long itemId) {
+        Item item = findOneForUpdate(itemId);
+        if (!item.isHotStock()) {
+            return;
+        }
+
+        int stock = itemStockShardRepository.findAllForUpdate(itemId).stream()
+                .mapToInt(ItemStockShard::getQuantity)
+                .sum();
+        itemStockShardRepository.deleteAll(itemId);
+
+        item.setStockQuantity(item.getStockQuantity() + stock);
+        item.setStockShardCount(0);
+    }
+
+    private Item findOneForUpdate(Long itemId) {
+        Item item = itemRepository.findOneForUpdate(itemId);
+        if (item == null) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다.");
+        }
+        return item;
+    }
+
+    /**
+     * 하나의 카운터로는 재고가 부족한 경우 - 모든 카운터를 shardNo 순서로 잠근 후 여러 카운터에서 나누어 차감
+     */
+    private boolean removeStockAcrossShards(Item item, int quantity) {
+        List<ItemStockShard> shards = itemStockShardRepository.findAllForUpdate(item.getId());
+
+        int total = shards.stream().mapToInt(ItemStockShard::getQuantity).sum();
+        if (total < quantity) {
+            return false;
+        }
+
+        int remaining = quantity;
+        for (ItemStockShard shard : shards) {
+            int taken = Math.min(shard.getQuantity(), remaining);
+            if (taken > 0) {
+                itemStockShardRepository.removeStock(item.getId(), shard.getShardNo(), taken);
+                remaining -= taken;
+            }
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 목록 DTO 의 Hot 상품 재고를 하위 카운터 합계로 채움 - 페이지의 Hot 상품 전체를 group by 한번으로 조회
+     */
+    @Transactional(readOnly = true)
+    public void fillStockQuantities(List<ItemListDto> items) {
+        List<Long> hotItemIds = items.stream()
+                .filter(ItemListDto::isHotStock)
+                .map(ItemListDto::getId)
+                .collect(Collectors.toList());
+        if (hotItemIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> stocks = new HashMap<>();
+        for (Object[] row : itemStockShardRepository.sumStockByItems(hotItemIds)) {
+            stocks.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        items.stream()
+                .filter(ItemListDto::isHotStock)
+                .forEach(item -> item.setStockQuantity(stocks.getOrDefault(item.getId(), 0)));
+    }
+}
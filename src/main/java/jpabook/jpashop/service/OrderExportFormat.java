@@ -0,0 +1,26 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.exception.InvalidRequestException;
+
+public enum OrderExportFormat {
+    NDJSON("application/x-ndjson"), CSV("text/csv");
+
+    private final String contentType;
+
+    OrderExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static OrderExportFormat from(String format) {
+        for (OrderExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new InvalidRequestException("지원하지 않는 내보내기 형식입니다. format=" + format);
+    }
+}
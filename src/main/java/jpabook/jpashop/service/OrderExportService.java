@@ -0,0 +1,96 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.repository.order.query.OrderFlatDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 주문 내보내기
+ * - OrderQueryRepository 의 Stream 조회 결과를 Row 단위로 바로 기록하여 List 로 모으지 않음
+ * - 일정 건수마다 영속성 컨텍스트를 비우고 응답을 flush 하여 Heap 사용량을 일정하게 유지
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderExportService {
+
+    private static final int FLUSH_SIZE = 1000;
+    private static final String CSV_HEADER = "orderId,name,orderDate,orderStatus,city,street,zipcode,itemName,orderPrice,count";
+
+    private final OrderQueryRepository orderQueryRepository;
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+
+    public long export(Writer writer, OrderExportFormat format) throws IOException {
+        if (format == OrderExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<OrderFlatDto> rows = orderQueryRepository.streamAllByDto_flat()) {
+            Iterator<OrderFlatDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                OrderFlatDto row = iterator.next();
+                if (format == OrderExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+
+                if (++count % FLUSH_SIZE == 0) {
+                    em.clear();
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsv(Writer writer, OrderFlatDto row) throws IOException {
+        Address address = row.getAddress();
+
+        writer.write(String.valueOf(row.getOrderId()));
+        writer.write(',');
+        writer.write(csv(row.getName()));
+        writer.write(',');
+        writer.write(csv(row.getOrderDate() == null ? null : row.getOrderDate().toString()));
+        writer.write(',');
+        writer.write(csv(row.getOrderStatus() == null ? null : row.getOrderStatus().name()));
+        writer.write(',');
+        writer.write(csv(address == null ? null : address.getCity()));
+        writer.write(',');
+        writer.write(csv(address == null ? null : address.getStreet()));
+        writer.write(',');
+        writer.write(csv(address == null ? null : address.getZipcode()));
+        writer.write(',');
+        writer.write(csv(row.getItemName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getOrderPrice()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getCount()));
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,166 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.exception.InvalidRequestException;
+import jpabook.jpashop.exception.OrderQueueFullException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 주문 접수
+ * - 요청 스레드는 수량만 검증(1개 미만이면 InvalidRequestException - 400)하고 제한된 크기의 대기열에 넣은 후 추적 ID 만 반환 (DB 를 조회하지 않음)
+ * - 회원 / 상품 존재 여부는 writer 스레드의 일괄 주문에서 IN 조회 한번으로 검증 (없으면 FAILED 상태로 기록)
+ * - 단일 writer 스레드가 대기열을 꺼내 batch-size 건씩 하나의 트랜잭션으로 주문 (group commit, OrderService.orderBatch)
+ * - 대기열이 가득 차면 OrderQueueFullException (503) 으로 즉시 거절
+ * - 처리 결과는 메모리에 보관하며, 완료된 결과는 status-retention 건을 넘으면 오래된 순서로 삭제
+ */
+@Slf4j
+@Service
+public class OrderIntakeService {
+
+    private final OrderService orderService;
+    private final BlockingQueue<Request> queue;
+    private final int batchSize;
+    private final int statusRetention;
+
+    private final Map<String, OrderIntakeStatus> statuses = new ConcurrentHashMap<>();
+    private final Queue<String> finished = new ArrayDeque<>();       // writer 스레드에서만 사용
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public OrderIntakeService(
+            OrderService orderService
+            , @Value("${jpashop.order-intake.queue-capacity:10000}") int queueCapacity
+            , @Value("${jpashop.order-intake.batch-size:200}") int batchSize
+            , @Value("${jpashop.order-intake.status-retention:100000}") int statusRetention
+    ) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.statusRetention = statusRetention;
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::drain, "order-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 종료시 새 접수를 막고, 대기열에 남은 주문을 모두 처리한 후 종료
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * 주문 접수
+     * - 대기열에 넣은 후 종료 여부를 다시 확인하여, 확인과 넣기 사이에 종료된 경우 대기열에서 다시 꺼내고 거절
+     *   (이미 writer 가 가져간 주문은 종료 전에 처리되므로 정상 접수)
+     * @return 추적 ID
+     */
+    public String submit(Long memberId, Long itemId, int count) {
+        if (count < 1) {
+            throw new InvalidRequestException("주문 수량은 1개 이상이어야 합니다.");
+        }
+        if (!running) {
+            throw new OrderQueueFullException("주문 접수가 중지되었습니다.");
+        }
+
+        String trackingId = UUID.randomUUID().toString();
+        Request request = new Request(trackingId, new OrderLine(memberId, itemId, count));
+        statuses.put(trackingId, OrderIntakeStatus.queued(trackingId));
+        if (!queue.offer(request)) {
+            statuses.remove(trackingId);
+            throw new OrderQueueFullException("주문 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        if (!running && queue.remove(request)) {
+            statuses.remove(trackingId);
+            throw new OrderQueueFullException("주문 접수가 중지되었습니다.");
+        }
+        return trackingId;
+    }
+
+    public OrderIntakeStatus findStatus(String trackingId) {
+        return statuses.get(trackingId);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<Request> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Request> batch) {
+        List<OrderLine> lines = new ArrayList<>(batch.size());
+        for (Request request : batch) {
+            lines.add(request.line);
+        }
+
+        try {
+            for (OrderLineResult result : orderService.orderBatch(lines)) {
+                String trackingId = batch.get(result.getIndex()).trackingId;
+                finish(result.isSuccess()
+                        ? OrderIntakeStatus.completed(trackingId, result.getOrderId())
+                        : OrderIntakeStatus.failed(trackingId, result.getMessage()));
+            }
+        } catch (RuntimeException e) {
+            log.error("일괄 주문 처리 실패 - {}건", batch.size(), e);
+            for (Request request : batch) {
+                finish(OrderIntakeStatus.failed(request.trackingId, e.getMessage()));
+            }
+        }
+    }
+
+    private void finish(OrderIntakeStatus status) {
+        statuses.put(status.getTrackingId(), status);
+        finished.add(status.getTrackingId());
+        while (finished.size() > statusRetention) {
+            statuses.remove(finished.poll());
+        }
+    }
+
+    private static class Request {
+        private final String trackingId;
+        private final OrderLine line;
+
+        Request(String trackingId, OrderLine line) {
+            this.trackingId = trackingId;
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package jpabook.jpashop.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 비동기 접수 주문의 처리 상태
+ * - QUEUED : 대기열에서 처리 대기 중
+ * - COMPLETED : 주문 완료 (orderId)
+ * - FAILED : 주문 실패 (message - 재고 부족, 없는 회원 / 상품 등)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderIntakeStatus {
+
+    public enum State { QUEUED, COMPLETED, FAILED }
+
+    private final String trackingId;
+    private final State state;
+    private final Long orderId;
+    private final String message;
+
+    public static OrderIntakeStatus queued(String trackingId) {
+        return new OrderIntakeStatus(trackingId, State.QUEUED, null, null);
+    }
+
+    public static OrderIntakeStatus completed(String trackingId, Long orderId) {
+        return new OrderIntakeStatus(trackingId, State.COMPLETED, orderId, null);
+    }
+
+    public static OrderIntakeStatus failed(String trackingId, String message) {
+        return new OrderIntakeStatus(trackingId, State.FAILED, null, message);
+    }
+}
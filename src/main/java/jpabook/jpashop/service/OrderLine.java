@@ -0,0 +1,15 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 주문 한 줄 (회원 / 상품 / 수량)
+ */
+@Getter
+@AllArgsConstructor
+public class OrderLine {
+    private final Long memberId;
+    private final Long itemId;
+    private final int count;
+}
@@ -0,0 +1,26 @@
+package jpabook.jpashop.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 주문 한 줄의 처리 결과
+ * - index : 요청한 주문 줄의 순서 (0부터 시작)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderLineResult {
+    private final int index;
+    private final boolean success;
+    private final Long orderId;
+    private final String message;
+
+    public static OrderLineResult success(int index, Long orderId) {
+        return new OrderLineResult(index, true, orderId, null);
+    }
+
+    public static OrderLineResult fail(int index, String message) {
+        return new OrderLineResult(index, false, null, message);
+    }
+}
@@ -1,19 +1,38 @@
 package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.event.OrderChangedEvent;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderCancelTarget;
+import jpabook.jpashop.repository.OrderItemQuantity;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +42,8 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final MemberRepository memberRepository;
     private final ItemRepository itemRepository;
+    private final ItemStockService itemStockService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 주문
@@ -38,17 +59,171 @@ public class OrderService {
         Delivery delivery = new Delivery();
         delivery.setAddress(member.getAddress());
 
+        // 재고 차감 - 조건부 UPDATE 로 동시 주문시 갱신 유실 / 초과 판매 방지 (Hot 상품은 하위 카운터에서 차감)
+        if (!itemStockService.removeStock(item, count)) {
+            throw new NotEnoughStockException("need more stock");
+        }
+
         // 주문 상품 생성
-        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+        OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), count);
 
         // 주문 생성
         Order order = Order.createOrder(member, delivery, orderItem);
 
         // 주문 저장
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(OrderStatus.ORDER, List.of(order.getId())));
         return order.getId();
     }
 
+    /**
+     * 장바구니 주문 - 여러 상품을 하나의 주문으로 생성 (재고가 하나라도 부족하면 전체 취소)
+     * - 같은 상품의 여러 줄은 수량을 합산
+     * - 일반 상품은 IN 조회 한번으로 ID 순서대로 비관적 Lock -> 동시에 주문하는 장바구니끼리 교착 상태가 생기지 않음
+     * - Hot 상품은 Lock 없이 하위 카운터에서 조건부 차감 (findItemsForOrder)
+     */
+    @Transactional
+    public Long orderCart(Long memberId, List<CartLine> lines) {
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
+        }
+
+        // 상품 ID 순서로 수량 합산
+        Map<Long, Integer> counts = new TreeMap<>();
+        for (CartLine line : lines) {
+            if (line.getCount() < 1) {
+                throw new IllegalArgumentException("주문 수량은 1개 이상이어야 합니다.");
+            }
+            counts.merge(line.getItemId(), line.getCount(), Integer::sum);
+        }
+
+        // Entity 조회
+        Member member = memberRepository.findOne(memberId);
+        Set<Long> lockedIds = new HashSet<>();
+        Map<Long, Item> items = findItemsForOrder(counts.keySet(), lockedIds);
+        if (items.size() != counts.size()) {
+            throw new IllegalArgumentException("존재하지 않는 상품이 포함되어 있습니다.");
+        }
+
+        // 배송정보 생성
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+
+        // 재고 차감 및 주문 상품 생성 - 상품 ID 순서
+        List<OrderItem> orderItems = new ArrayList<>(items.size());
+        for (Item item : items.values()) {
+            int count = counts.get(item.getId());
+            if (!removeStock(item, count, lockedIds)) {
+                throw new NotEnoughStockException("need more stock");
+            }
+            orderItems.add(OrderItem.createReservedOrderItem(item, item.getPrice(), count));
+        }
+
+        // 주문 생성
+        Order order = Order.createOrder(member, delivery, orderItems.toArray(new OrderItem[0]));
+
+        // 주문 저장
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(OrderStatus.ORDER, List.of(order.getId())));
+        return order.getId();
+    }
+
+    /**
+     * 일괄 주문 - 주문 줄 단위로 성공 / 실패를 반환 (실패한 줄이 있어도 나머지 줄은 주문)
+     * - 회원, 상품은 IN 조회 한번씩 (일반 상품은 ID 순서로 비관적 Lock, Hot 상품은 Lock 없이 하위 카운터에서 차감)
+     * - 재고 차감은 요청 순서가 아닌 상품 ID 순서로 실행하고 결과만 요청 순서로 되돌림
+     *   -> Hot 상품의 하위 카운터 Row Lock 도 커밋까지 유지되므로, 줄 순서가 다른 일괄 주문끼리 교착 상태가 생기지 않도록 함
+     * - orders / delivery / order_item INSERT 와 item UPDATE 는 flush 시 JDBC Batch 로 실행
+     */
+    @Transactional
+    public List<OrderLineResult> orderBatch(List<OrderLine> lines) {
+        Map<Long, Member> members = memberRepository.findAllById(
+                lines.stream().map(OrderLine::getMemberId).distinct().collect(Collectors.toList())
+        ).stream().collect(Collectors.toMap(Member::getId, Function.identity()));
+        Set<Long> lockedIds = new HashSet<>();
+        Map<Long, Item> items = findItemsForOrder(
+                lines.stream().map(OrderLine::getItemId).filter(Objects::nonNull).collect(Collectors.toSet())
+                , lockedIds
+        );
+
+        // 상품 ID 순서 (같은 상품은 요청 순서)
+        List<Integer> indexes = IntStream.range(0, lines.size()).boxed()
+                .sorted(Comparator.comparing(index -> lines.get(index).getItemId(), Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+
+        OrderLineResult[] results = new OrderLineResult[lines.size()];
+        List<Long> orderIds = new ArrayList<>();
+        for (int index : indexes) {
+            OrderLine line = lines.get(index);
+            Member member = members.get(line.getMemberId());
+            Item item = line.getItemId() == null ? null : items.get(line.getItemId());
+
+            if (member == null) {
+                results[index] = OrderLineResult.fail(index, "존재하지 않는 회원입니다.");
+                continue;
+            }
+            if (item == null) {
+                results[index] = OrderLineResult.fail(index, "존재하지 않는 상품입니다.");
+                continue;
+            }
+            if (line.getCount() < 1) {
+                results[index] = OrderLineResult.fail(index, "주문 수량은 1개 이상이어야 합니다.");
+                continue;
+            }
+            if (!removeStock(item, line.getCount(), lockedIds)) {
+                results[index] = OrderLineResult.fail(index, "need more stock");
+                continue;
+            }
+
+            Delivery delivery = new Delivery();
+            delivery.setAddress(member.getAddress());
+
+            OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), line.getCount());
+            Order order = Order.createOrder(member, delivery, orderItem);
+            orderRepository.save(order);
+
+            orderIds.add(order.getId());
+            results[index] = OrderLineResult.success(index, order.getId());
+        }
+
+        if (!orderIds.isEmpty()) {
+            eventPublisher.publishEvent(new OrderChangedEvent(OrderStatus.ORDER, orderIds));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 주문할 상품 조회 - 일반 상품만 ID 순서로 비관적 Lock, 나머지(Hot 상품)는 Lock 없이 조회
+     * - Hot 상품을 item Row Lock 으로 직렬화하면 하위 카운터로 나눈 의미가 없어짐
+     * @param lockedIds Lock 을 잡은 상품 ID 를 담아 반환
+     * @return 상품 ID 순서
+     */
+    private Map<Long, Item> findItemsForOrder(Collection<Long> itemIds, Set<Long> lockedIds) {
+        Map<Long, Item> items = new TreeMap<>();
+        for (Item item : itemRepository.findAllNormalForUpdate(itemIds)) {
+            items.put(item.getId(), item);
+            lockedIds.add(item.getId());
+        }
+
+        List<Long> restIds = itemIds.stream()
+                .filter(itemId -> !lockedIds.contains(itemId))
+                .collect(Collectors.toList());
+        if (!restIds.isEmpty()) {
+            itemRepository.findAllById(restIds).forEach(item -> items.put(item.getId(), item));
+        }
+        return items;
+    }
+
+    /**
+     * Lock 을 잡은 일반 상품은 메모리에서 차감 (flush 시 JDBC Batch UPDATE), 그 외는 조건부 UPDATE
+     * - Lock 조회와 나머지 조회 사이에 Hot 상품이 해제된 경우에도 조건부 UPDATE 로 차감되어 초과 판매 없음
+     */
+    private boolean removeStock(Item item, int count, Set<Long> lockedIds) {
+        return lockedIds.contains(item.getId())
+                ? itemStockService.removeLockedStock(item, count)
+                : itemStockService.removeStock(item, count);
+    }
+
     /**
      * 취소 
      */
@@ -58,10 +233,66 @@ public class OrderService {
         Order order = orderRepository.findOne(orderId);
         
         // 주문 취소
-        order.cancel();
+        order.markCanceled();
+
+        // 재고 복구 - 단일 UPDATE, 상품 ID 순서로 실행하여 교착 상태 방지 (Hot 상품은 하위 카운터에 복구)
+        order.getOrderItems().stream()
+                .sorted(Comparator.comparing(orderItem -> orderItem.getItem().getId()))
+                .forEach(orderItem -> itemStockService.addStock(orderItem.getItem(), orderItem.getCount()));
+        eventPublisher.publishEvent(new OrderChangedEvent(OrderStatus.CANCEL, List.of(orderId)));
     }
-    
 
-    // 검색
-    public List<Order> findOrders(OrderSearch orderSearch) { return orderRepository.findAllByString(orderSearch); }
+
+    /**
+     * 일괄 취소 - 주문 / 주문상품 / 상품을 Entity 로 조회하지 않고 집합 단위 UPDATE 로 처리
+     * - 주문은 ID 순서로 비관적 Lock, 배송완료(COMP) / 이미 취소된 / 없는 주문은 건너뛰고 사유를 반환
+     * - 주문 상태는 UPDATE 한번, 재고 복구는 상품별 수량 합계로 상품 ID 순서대로 UPDATE 한번씩 (Hot 상품은 하위 카운터에 복구)
+     * - 트랜잭션 시작 시점에 호출 (이미 영속성 컨텍스트에 있는 주문 / 상품 Entity 는 DB 값으로 갱신되지 않음)
+     */
+    @Transactional
+    public BulkCancelResult cancelOrders(Collection<Long> orderIds) {
+        List<Long> ids = orderIds.stream().distinct().sorted().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new BulkCancelResult(List.of(), List.of());
+        }
+
+        Map<Long, OrderCancelTarget> targets = orderRepository.findCancelTargetsForUpdate(ids).stream()
+                .collect(Collectors.toMap(OrderCancelTarget::getOrderId, Function.identity()));
+
+        List<Long> canceledIds = new ArrayList<>();
+        List<BulkCancelResult.Skipped> skipped = new ArrayList<>();
+        for (Long id : ids) {
+            OrderCancelTarget target = targets.get(id);
+            if (target == null) {
+                skipped.add(new BulkCancelResult.Skipped(id, "존재하지 않는 주문입니다."));
+            } else if (target.getDeliveryStatus() == DeliveryStatus.COMP) {
+                skipped.add(new BulkCancelResult.Skipped(id, "이미 배송이 완료된 상품은 취소가 불가능합니다."));
+            } else if (target.getOrderStatus() == OrderStatus.CANCEL) {
+                skipped.add(new BulkCancelResult.Skipped(id, "이미 취소된 주문입니다."));
+            } else {
+                canceledIds.add(id);
+            }
+        }
+        if (canceledIds.isEmpty()) {
+            return new BulkCancelResult(canceledIds, skipped);
+        }
+
+        // 주문 취소
+        orderRepository.updateStatus(canceledIds, OrderStatus.CANCEL);
+
+        // 재고 복구
+        for (OrderItemQuantity itemQuantity : orderRepository.sumOrderItemCountByItem(canceledIds)) {
+            itemStockService.addStock(itemQuantity.getItemId(), itemQuantity.getStockShardCount(), (int) itemQuantity.getQuantity());
+        }
+
+        eventPublisher.publishEvent(new OrderChangedEvent(OrderStatus.CANCEL, canceledIds));
+        return new BulkCancelResult(canceledIds, skipped);
+    }
+
+    /**
+     * 검색 - limit 건씩 Keyset 페이징 (lastOrderId : 이전 페이지의 마지막 주문 ID, null 이면 첫 페이지)
+     */
+    public List<Order> findOrders(OrderSearch orderSearch, Long lastOrderId, int limit) {
+        return orderRepository.findAllBySearch(orderSearch, lastOrderId, limit);
+    }
 }
@@ -0,0 +1,127 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
+import jpabook.jpashop.domain.event.MemberChangedEvent;
+import jpabook.jpashop.domain.event.OrderChangedEvent;
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.order.summary.OrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 요약 (OrderSummary) 갱신 / 재생성
+ * - 주문 / 취소 / 회원명 변경 이벤트를 동기 리스너로 받아 같은 트랜잭션에서 요약을 갱신 (주문이 롤백되면 요약도 롤백)
+ * - 주문 생성 직후에는 주문 / 회원 / 배송 / 상품이 이미 영속성 컨텍스트에 있으므로 추가 조회 없이 요약을 만듦
+ * - 취소 / 회원명 변경은 요약 테이블에 대한 단일 UPDATE
+ */
+@Slf4j
+@Service
+public class OrderSummaryService {
+
+    private final OrderRepository orderRepository;
+    private final MemberRepository memberRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final TransactionTemplate tx;
+    private final int rebuildChunkSize;
+
+    public OrderSummaryService(
+            OrderRepository orderRepository
+            , MemberRepository memberRepository
+            , OrderSummaryRepository orderSummaryRepository
+            , PlatformTransactionManager transactionManager
+            , @Value("${jpashop.order-summary.rebuild-chunk-size:1000}") int rebuildChunkSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.memberRepository = memberRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findSummaries(Long lastOrderId, int limit) {
+        return orderSummaryRepository.findAllAfter(lastOrderId, limit);
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.getStatus() == OrderStatus.CANCEL) {
+            orderSummaryRepository.updateStatus(event.getOrderIds(), OrderStatus.CANCEL);
+            return;
+        }
+
+        for (Long orderId : event.getOrderIds()) {
+            orderSummaryRepository.save(OrderSummary.createOrderSummary(orderRepository.findOne(orderId)));
+        }
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        Member member = memberRepository.findOne(event.getMemberId());
+        orderSummaryRepository.updateMemberName(member.getId(), member.getName());
+    }
+
+    /**
+     * 요약 전체 재생성 - 주문 ID 순서로 rebuildChunkSize 건씩 별도 트랜잭션에서 있으면 갱신, 없으면 생성 (upsert)
+     * - 테이블을 먼저 비우지 않으므로 재생성 중에도 목록 조회는 기존 요약을 그대로 사용
+     * - 청크의 요약은 Lock 을 잡은 후 주문을 조회 -> 같은 시점의 취소 / 회원명 변경이 재생성 값으로 덮어쓰이지 않음
+     * - 재생성 중에 들어온 주문은 주문과 같은 트랜잭션에서 요약이 만들어지므로 청크에서 조회되는 시점에는 이미 요약이 있음
+     * - 동시에 하나만 실행 (동시 재생성이 같은 요약을 중복 생성하지 않도록)
+     * - 청크마다 영속성 컨텍스트가 닫히므로 Heap 사용량은 주문 건수와 관계없이 일정
+     * @return 처리한 주문 건수
+     */
+    public synchronized long rebuild() {
+        long startedAt = System.currentTimeMillis();
+
+        long count = 0;
+        Long lastOrderId = null;
+        while (true) {
+            Long from = lastOrderId;
+            List<Long> orderIds = tx.execute(status -> rebuildChunk(from));
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            count += orderIds.size();
+            lastOrderId = orderIds.get(orderIds.size() - 1);
+        }
+
+        log.info("order summary rebuilt : {} orders, {} ms", count, System.currentTimeMillis() - startedAt);
+        return count;
+    }
+
+    /**
+     * @return 이번 청크에서 처리한 주문 ID (마지막 ID 가 다음 청크의 시작 위치)
+     */
+    private List<Long> rebuildChunk(Long lastOrderId) {
+        List<Long> orderIds = orderRepository.findIdsAfter(lastOrderId, rebuildChunkSize);
+        if (orderIds.isEmpty()) {
+            return orderIds;
+        }
+
+        Map<Long, OrderSummary> summaries = orderSummaryRepository.findAllForUpdate(orderIds).stream()
+                .collect(Collectors.toMap(OrderSummary::getOrderId, Function.identity()));
+        for (Order order : orderRepository.findAllWithItemByIds(orderIds)) {
+            OrderSummary summary = summaries.get(order.getId());
+            if (summary == null) {
+                orderSummaryRepository.save(OrderSummary.createOrderSummary(order));
+            } else {
+                summary.update(order);
+            }
+        }
+        return orderIds;
+    }
+}
@@ -0,0 +1,73 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.order.OrderQueryCache;
+import jpabook.jpashop.repository.order.summary.OrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 주문의 전체 주문 가격 / 주문 상품 종류 수 Backfill
+ * - 주문 ID 순서로 chunkSize 건씩 별도 트랜잭션에서 UPDATE 한번으로 보정 (여러번 실행해도 같은 결과)
+ * - 새 주문은 Order.addOrderItem 에서 값이 누적되므로 컬럼 추가 이전에 저장된 주문에만 필요
+ * - 같은 트랜잭션에서 주문 요약의 가격도 갱신하고, 청크가 커밋될 때마다 주문 조회 캐시를 무효화
+ *   (주문 생성 이벤트를 발행하면 요약이 새로 생성되므로 이벤트 대신 직접 갱신)
+ */
+@Slf4j
+@Service
+public class OrderTotalBackfillService {
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderQueryCache orderQueryCache;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+
+    public OrderTotalBackfillService(
+            OrderRepository orderRepository
+            , OrderSummaryRepository orderSummaryRepository
+            , OrderQueryCache orderQueryCache
+            , PlatformTransactionManager transactionManager
+            , @Value("${jpashop.order-total.backfill-chunk-size:1000}") int chunkSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderQueryCache = orderQueryCache;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return 보정한 주문 건수
+     */
+    public long backfill() {
+        long startedAt = System.currentTimeMillis();
+        long count = 0;
+        Long lastOrderId = null;
+        while (true) {
+            Long from = lastOrderId;
+            List<Long> orderIds = tx.execute(status -> {
+                List<Long> ids = orderRepository.findIdsAfter(from, chunkSize);
+                if (!ids.isEmpty()) {
+                    orderRepository.updateTotals(ids);
+                    orderSummaryRepository.updateTotals(ids);
+                }
+                return ids;
+            });
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            orderQueryCache.invalidateAll();
+            count += orderIds.size();
+            lastOrderId = orderIds.get(orderIds.size() - 1);
+        }
+
+        log.info("order totals backfilled : {} orders, {} ms", count, System.currentTimeMillis() - startedAt);
+        return count;
+    }
+}
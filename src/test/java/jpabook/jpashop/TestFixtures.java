@@ -0,0 +1,35 @@
+package jpabook.jpashop;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 테스트 데이터 생성 - 호출한 쪽의 트랜잭션에서 persist
+ *
+ * 사용 : Member member = TestFixtures.createMember(em, "회원1");
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Member createMember(EntityManager em, String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "경기", "216-0668"));
+        em.persist(member);
+        return member;
+    }
+
+    public static Book createBook(EntityManager em, String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        em.persist(book);
+        return book;
+    }
+}
@@ -0,0 +1,96 @@
+package jpabook.jpashop.api;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/*
+  - 스레드 실행 모드별 부하 비교 (Platform Thread : PlatformThreadApiLoadTest, Virtual Thread : VirtualThreadApiLoadTest)
+  - CLIENTS 개의 클라이언트가 동시에 REQUESTS 건을 호출하고 처리량(req/sec)을 로그로 출력
+  - 실행 시간이 길어 기본 test 작업에서는 제외 (실행 : ./gradlew loadTest)
+  - 주문 조회 결과 캐시(OrderQueryCache)는 끄고 측정 - 켜져 있으면 DB 조회 없이 캐시 응답만 측정됨
+ */
+@Category(LoadTest.class)
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+        , properties = "jpashop.query-cache.enabled=false"
+)
+public abstract class AbstractApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractApiLoadTest.class);
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS = 4000;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    protected abstract String mode();
+
+    @Test
+    public void 주문조회_v5() throws Exception {
+        run("GET /api/v5/orders", () -> restTemplate.getForEntity("/api/v5/orders", String.class));
+    }
+
+    @Test
+    public void 회원등록_v2() throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        run("POST /api/v2/members", () -> restTemplate.postForEntity(
+                "/api/v2/members"
+                , Map.of("name", mode() + " 부하 회원 " + sequence.incrementAndGet())
+                , String.class
+        ));
+    }
+
+    private void run(String api, Supplier<ResponseEntity<String>> request) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(REQUESTS);
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    if (request.get().getStatusCode() != HttpStatus.OK) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        log.info("[{}] {} : 동시 {}, {}건, {} req/sec", mode(), api, CLIENTS, REQUESTS, String.format("%.1f", REQUESTS / (elapsed / 1_000_000_000.0)));
+        assertEquals("모든 요청이 성공해야 한다.", 0, failures.get());
+    }
+}
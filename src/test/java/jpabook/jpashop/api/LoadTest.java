@@ -0,0 +1,7 @@
+package jpabook.jpashop.api;
+
+/**
+ * 부하 테스트 분류 (JUnit4 @Category) - 기본 test 작업에서 제외하고 ./gradlew loadTest 로만 실행
+ */
+public interface LoadTest {
+}
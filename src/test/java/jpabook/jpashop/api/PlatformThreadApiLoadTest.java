@@ -0,0 +1,9 @@
+package jpabook.jpashop.api;
+
+public class PlatformThreadApiLoadTest extends AbstractApiLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,26 @@
+package jpabook.jpashop.api;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.springframework.test.context.TestPropertySource;
+
+/*
+  - JDK 21 미만에서는 실행하지 않음
+ */
+@TestPropertySource(properties = {
+        "jpashop.virtual-threads.enabled=true"
+        , "spring.datasource.hikari.maximum-pool-size=20"
+        , "spring.datasource.hikari.connection-timeout=5000"
+})
+public class VirtualThreadApiLoadTest extends AbstractApiLoadTest {
+
+    @BeforeClass
+    public static void requireVirtualThreads() {
+        Assume.assumeTrue("Virtual Thread 는 JDK 21 이상 필요", Runtime.version().feature() >= 21);
+    }
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,74 @@
+package jpabook.jpashop.domain.id;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    public void 단일스레드_증가순서() throws Exception {
+
+        // given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+
+        // when
+        long prev = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+
+            // then
+            assertTrue("ID 는 항상 증가해야 한다.", next > prev);
+            assertEquals("노드 ID 가 포함되어야 한다.", 7, (next >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+            prev = next;
+        }
+    }
+
+    @Test
+    public void 동시생성_중복없음() throws Exception {
+
+        // given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+        int threadCount = 8;
+        int perThread = 50_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertEquals("중복된 ID 가 없어야 한다.", threadCount * perThread, ids.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 노드ID_범위초과() throws Exception {
+        new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1);
+    }
+}
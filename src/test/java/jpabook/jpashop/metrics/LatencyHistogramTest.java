@@ -0,0 +1,37 @@
+package jpabook.jpashop.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void 구간_상대오차() throws Exception {
+        for (long value = 1; value < Long.MAX_VALUE / 4; value = value * 3 + 1) {
+            long represented = LatencyHistogram.valueOf(LatencyHistogram.indexOf(value));
+
+            assertTrue("구간 대표값의 상대 오차는 약 3% 이내여야 한다. value=" + value
+                    , Math.abs(represented - value) <= Math.max(1, value * 0.035));
+        }
+    }
+
+    @Test
+    public void 백분위수() throws Exception {
+
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when - 1 ~ 1000ms 균등 분포
+        for (int ms = 1; ms <= 1000; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // then
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500, snapshot.getP50Ms(), 500 * 0.035);
+        assertEquals(990, snapshot.getP99Ms(), 990 * 0.035);
+        assertEquals(1000, snapshot.getMaxMs(), 0.0);
+    }
+}
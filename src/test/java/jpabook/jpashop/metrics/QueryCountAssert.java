@@ -0,0 +1,27 @@
+package jpabook.jpashop.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * SQL 실행 수 검증 - 새로운 N+1 이 생기면 테스트 실패
+ * - 현재 스레드에서 실행된 SQL 만 집계하므로, 측정 전에 em.flush() / em.clear() 로 대기 중인 INSERT 와 1차 캐시를 비워야 함
+ *
+ * 사용 : List<Order> orders = QueryCountAssert.assertMaxStatements(1, () -> orderRepository.findAllWithItem());
+ */
+public final class QueryCountAssert {
+
+    private QueryCountAssert() {
+    }
+
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        SqlCount before = SqlStatsHolder.count();
+        T result = action.get();
+        SqlCount count = SqlStatsHolder.count().minus(before);
+
+        if (count.getStatements() > max) {
+            throw new AssertionError(String.format("SQL 실행 수 초과 - 최대 %d, 실행 %d (조회 Row %d, Entity 로딩 %d)"
+                    , max, count.getStatements(), count.getRows(), count.getEntityLoads()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.member.query.MemberOrderStatsDto;
+import jpabook.jpashop.repository.member.query.MemberOrderStatsRepository;
+import jpabook.jpashop.repository.member.query.MemberOrderStatusStatsDto;
+import jpabook.jpashop.service.OrderService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static jpabook.jpashop.TestFixtures.createBook;
+import static jpabook.jpashop.TestFixtures.createMember;
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class MemberOrderStatsRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    MemberOrderStatsRepository memberOrderStatsRepository;
+
+    @Test
+    public void 회원별_주문집계() throws Exception {
+
+        // given
+        Member member = createMember(em, "집계 회원");
+        Book book = createBook(em, "집계 JPA", 10000, 100);
+
+        orderService.order(member.getId(), book.getId(), 2);
+        orderService.order(member.getId(), book.getId(), 3);
+        Long canceledId = orderService.order(member.getId(), book.getId(), 5);
+        orderService.cancelOrder(canceledId);
+        em.flush();
+        em.clear();
+
+        // when
+        List<MemberOrderStatusStatsDto> all = memberOrderStatsRepository.findStatusStats(member.getId(), new OrderSearch());
+
+        OrderSearch orderOnly = new OrderSearch();
+        orderOnly.setOrderStatus(OrderStatus.ORDER);
+        List<MemberOrderStatusStatsDto> ordered = memberOrderStatsRepository.findStatusStats(member.getId(), orderOnly);
+
+        OrderSearch future = new OrderSearch();
+        future.setOrderDateFrom(LocalDateTime.now().plusDays(1));
+        List<MemberOrderStatusStatsDto> none = memberOrderStatsRepository.findStatusStats(member.getId(), future);
+
+        // then
+        assertEquals("주문 / 취소 상태별로 집계되어야 한다.", 2, all.size());
+        assertEquals("주문 상태 조건", 1, ordered.size());
+        assertEquals("주문 건수", 2, ordered.get(0).getOrderCount());
+        assertEquals("주문 금액은 가격 * 수량의 합이다.", 10000 * 5, ordered.get(0).getTotalSpend());
+        assertTrue("주문 일시 범위 밖의 주문은 집계되지 않아야 한다.", none.isEmpty());
+    }
+
+    @Test
+    public void 주문금액_상위회원() throws Exception {
+
+        // given
+        Member big = createMember(em, "상위 회원");
+        Member small = createMember(em, "하위 회원");
+        Book book = createBook(em, "집계 고가 JPA", 10_000_000, 10);
+
+        orderService.order(big.getId(), book.getId(), 3);
+        orderService.order(small.getId(), book.getId(), 2);
+        em.flush();
+        em.clear();
+
+        // when
+        List<MemberOrderStatsDto> top = memberOrderStatsRepository.findTopSpenders(new OrderSearch(), 0, 2);
+        List<MemberOrderStatsDto> second = memberOrderStatsRepository.findTopSpenders(new OrderSearch(), 1, 1);
+
+        // then
+        assertEquals("주문 금액이 가장 큰 회원이 먼저 조회되어야 한다.", big.getId(), top.get(0).getMemberId());
+        assertEquals(30_000_000L, top.get(0).getTotalSpend());
+        assertEquals("다음 페이지", small.getId(), second.get(0).getMemberId());
+    }
+}
@@ -0,0 +1,80 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.CartLine;
+import jpabook.jpashop.service.OrderService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static jpabook.jpashop.TestFixtures.createBook;
+import static jpabook.jpashop.TestFixtures.createMember;
+import static jpabook.jpashop.metrics.QueryCountAssert.assertMaxStatements;
+import static org.junit.Assert.*;
+
+/*
+  - 주문 조회 전략별 SQL 실행 수 상한 검증 (N+1 회귀 방지)
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class OrderQueryCountTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    OrderQueryRepository orderQueryRepository;
+
+    @Before
+    public void setUp() {
+        Member member = createMember(em, "쿼리수 회원");
+
+        Book book1 = createBook(em, "쿼리수 JPA1", 10000, 100);
+        Book book2 = createBook(em, "쿼리수 JPA2", 10000, 100);
+        for (int i = 0; i < 5; i++) {
+            orderService.orderCart(member.getId(), List.of(new CartLine(book1.getId(), 1), new CartLine(book2.getId(), 1)));
+        }
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void fetch_join_한번에조회() throws Exception {
+        List<Order> orders = assertMaxStatements(1, () -> initialize(orderRepository.findAllWithItem()));
+
+        assertFalse(orders.isEmpty());
+    }
+
+    @Test
+    public void DTO_직접조회_IN절() throws Exception {
+        assertMaxStatements(2, () -> orderQueryRepository.findAllByDto_optimization());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void 주문상품_LAZY로딩_N플러스1_감지() throws Exception {
+        assertMaxStatements(2, () -> initialize(orderRepository.findAllWithMemberDelivery()));
+    }
+
+    private List<Order> initialize(List<Order> orders) {
+        for (Order order : orders) {
+            order.getMember().getName();
+            order.getOrderItems().forEach(orderItem -> orderItem.getItem().getName());
+        }
+        return orders;
+    }
+}
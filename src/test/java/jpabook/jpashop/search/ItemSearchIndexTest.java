@@ -0,0 +1,117 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ItemSearchIndexTest {
+
+    @Test
+    public void 앞부분일치_점수순() throws Exception {
+
+        // given
+        ItemSearchIndex index = new ItemSearchIndex();
+        index.put(book(1L, "자바 ORM 표준 JPA 프로그래밍", "김영한", "978-89-6077-777-7"));
+        index.put(book(2L, "JPA 입문", "홍길동", "978-11-1111-111-1"));
+        index.put(movie(3L, "Java Story", "Jpa Kim", "배우"));
+        index.put(album(4L, "Spring", "Band"));
+
+        // when
+        List<Long> jpa = ids(index.search("jpa", 10));
+        List<Long> prefix = ids(index.search("JP", 10));
+        List<Long> and = ids(index.search("jpa 김영", 10));
+        List<Long> isbn = ids(index.search("9788960777777", 10));
+
+        // then
+        assertEquals("상품명 전체 일치가 감독 전체 일치보다 먼저 조회되어야 한다.", List.of(1L, 2L, 3L), jpa);
+        assertEquals("앞부분 일치로 조회되어야 한다.", List.of(1L, 2L, 3L), prefix);
+        assertEquals("모든 토큰이 일치하는 상품만 조회되어야 한다.", List.of(1L), and);
+        assertEquals("ISBN 은 구분자 없이도 조회되어야 한다.", List.of(1L), isbn);
+        assertEquals("limit 만큼만 조회되어야 한다.", 2, index.search("jpa", 2).getHits().size());
+        assertTrue(index.search("없는상품", 10).getHits().isEmpty());
+    }
+
+    @Test
+    public void 상품수정_삭제() throws Exception {
+
+        // given
+        ItemSearchIndex index = new ItemSearchIndex();
+        index.put(book(1L, "JPA 입문", "홍길동", null));
+
+        // when
+        index.put(book(1L, "Spring 입문", "홍길동", null));
+
+        // then
+        assertTrue("수정 전 상품명으로는 조회되지 않아야 한다.", index.search("jpa", 10).getHits().isEmpty());
+        assertEquals(List.of(1L), ids(index.search("spring", 10)));
+
+        // when
+        index.remove(1L);
+
+        // then
+        assertTrue(index.search("spring", 10).getHits().isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void 후보상한_초과() throws Exception {
+
+        // given - 사전 순서로 뒤에 오는 토큰("book9...")에만 일치하는 상품이 상한 이후에 있음
+        ItemSearchIndex index = new ItemSearchIndex();
+        for (long id = 1; id <= ItemSearchIndex.MAX_CANDIDATES + 10; id++) {
+            index.put(book(id, "book" + id, "저자", null));
+        }
+        index.put(book(100_000L, "book", "저자", null));
+
+        // when
+        ItemSearchResult prefix = index.search("b", 10);
+        ItemSearchResult exact = index.search("book", 10);
+        ItemSearchResult narrow = index.search("book1", 10);
+
+        // then
+        assertTrue("상한을 넘으면 잘렸다고 알려야 한다.", prefix.isTruncated());
+        assertEquals("잘려도 limit 만큼 조회되어야 한다.", 10, prefix.getHits().size());
+        assertEquals("전체 일치 토큰이 먼저 후보가 되어야 한다.", 100_000L, exact.getHits().get(0).getItemId().longValue());
+        assertFalse("상한 이하로 좁혀진 검색은 잘리지 않아야 한다.", narrow.isTruncated());
+    }
+
+    private static List<Long> ids(ItemSearchResult result) {
+        return result.getHits().stream().map(ItemSearchHit::getItemId).collect(Collectors.toList());
+    }
+
+    private static Book book(Long id, String name, String author, String isbn) {
+        Book book = new Book();
+        init(book, id, name);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        return book;
+    }
+
+    private static Movie movie(Long id, String name, String director, String actor) {
+        Movie movie = new Movie();
+        init(movie, id, name);
+        movie.setDirector(director);
+        movie.setActor(actor);
+        return movie;
+    }
+
+    private static Album album(Long id, String name, String artist) {
+        Album album = new Album();
+        init(album, id, name);
+        album.setArtist(artist);
+        return album;
+    }
+
+    private static void init(Item item, Long id, String name) {
+        item.setId(id);
+        item.setName(name);
+        item.setPrice(10000);
+    }
+}
@@ -0,0 +1,212 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Item;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jpabook.jpashop.TestFixtures.createBook;
+import static jpabook.jpashop.TestFixtures.createMember;
+import static org.junit.Assert.*;
+
+/*
+  - 같은 상품들을 서로 다른 순서로 담은 장바구니를 동시에 주문해도 교착 상태, 초과 판매가 없는지 확인
+  - 같은 수량을 단일 상품 주문 N건으로 나누어 주문한 경우도 같은 결과인지 확인 (처리량 비교는 OrderStockBenchmark)
+  - Hot 상품 두개를 서로 반대 순서로 담은 일괄 주문을 동시에 실행해도 교착 상태가 없는지 확인
+  - 각 주문은 별도 트랜잭션으로 커밋되어야 하므로 @Transactional 을 사용하지 않음
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CartCheckoutConcurrencyTest {
+
+    private static final int BUYERS = 8;
+    private static final int CARTS_PER_BUYER = 30;
+    private static final int ITEMS_PER_CART = 5;
+    private static final int STOCK = 100_000;
+    private static final int MAX_RETRIES = 100;
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    ItemStockService itemStockService;
+
+    @Test
+    public void 장바구니_동시주문() throws Exception {
+
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long memberId = tx.execute(status -> createMember(em, "장바구니 회원").getId());
+        List<Long> itemIds = createBooks(tx, "장바구니 JPA");
+        AtomicInteger deadlocks = new AtomicInteger();
+
+        // when
+        run(() -> {
+            List<CartLine> lines = new ArrayList<>();
+            for (Long itemId : shuffled(itemIds)) {
+                lines.add(new CartLine(itemId, 1));
+            }
+            retry(() -> orderService.orderCart(memberId, lines), deadlocks);
+        });
+
+        // then
+        assertEquals("교착 상태가 없어야 한다.", 0, deadlocks.get());
+        assertStock(tx, itemIds);
+    }
+
+    @Test
+    public void 단일상품_N건_동시주문() throws Exception {
+
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long memberId = tx.execute(status -> createMember(em, "단일상품 회원").getId());
+        List<Long> itemIds = createBooks(tx, "단일상품 JPA");
+        AtomicInteger deadlocks = new AtomicInteger();
+
+        // when
+        run(() -> {
+            for (Long itemId : shuffled(itemIds)) {
+                retry(() -> orderService.order(memberId, itemId, 1), deadlocks);
+            }
+        });
+
+        // then
+        assertEquals("교착 상태가 없어야 한다.", 0, deadlocks.get());
+        assertStock(tx, itemIds);
+    }
+
+    @Test
+    public void 일괄주문_Hot상품_역순_동시주문() throws Exception {
+
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long memberId = tx.execute(status -> createMember(em, "일괄주문 회원").getId());
+        Long hotItemId1 = tx.execute(status -> createBook(em, "일괄주문 Hot JPA 1", 10000, STOCK).getId());
+        Long hotItemId2 = tx.execute(status -> createBook(em, "일괄주문 Hot JPA 2", 10000, STOCK).getId());
+        itemStockService.enableHotStock(hotItemId1, 4);
+        itemStockService.enableHotStock(hotItemId2, 4);
+
+        List<OrderLine> forward = List.of(new OrderLine(memberId, hotItemId1, 1), new OrderLine(memberId, hotItemId2, 1));
+        List<OrderLine> reversed = List.of(new OrderLine(memberId, hotItemId2, 1), new OrderLine(memberId, hotItemId1, 1));
+        AtomicInteger deadlocks = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when - 두 스레드가 Hot 상품 두개를 서로 반대 순서로 일괄 주문
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<OrderLine> lines : List.of(forward, reversed)) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int c = 0; c < CARTS_PER_BUYER; c++) {
+                    retry(() -> {
+                        List<OrderLineResult> results = orderService.orderBatch(lines);
+                        assertTrue("모든 줄이 주문되어야 한다.", results.stream().allMatch(OrderLineResult::isSuccess));
+                        assertEquals("결과는 요청 순서여야 한다.", 1, results.get(1).getIndex());
+                    }, deadlocks);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals("교착 상태가 없어야 한다.", 0, deadlocks.get());
+        for (Long itemId : List.of(hotItemId1, hotItemId2)) {
+            Integer stock = tx.execute(status -> itemStockService.getStockQuantity(em.find(Item.class, itemId)));
+            assertEquals("주문 수량만큼 재고가 줄어야 한다.", STOCK - 2 * CARTS_PER_BUYER, stock.intValue());
+        }
+    }
+
+    /**
+     * BUYERS 명이 CARTS_PER_BUYER 번씩 동시에 장바구니를 주문
+     */
+    private void run(Runnable checkout) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int c = 0; c < CARTS_PER_BUYER; c++) {
+                    checkout.run();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Lock 대기 시간 초과는 MAX_RETRIES 번까지 재시도, 교착 상태는 횟수만 기록
+     * - 계속 실패하면 마지막 예외를 원인으로 테스트 실패 (Lock 문제가 생겨도 빌드가 멈추지 않도록)
+     */
+    private void retry(Runnable order, AtomicInteger deadlocks) {
+        ConcurrencyFailureException last = null;
+        for (int attempt = 0; attempt < MAX_RETRIES; attempt++) {
+            try {
+                order.run();
+                return;
+            } catch (ConcurrencyFailureException e) {
+                String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                if (message.toLowerCase().contains("deadlock")) {
+                    deadlocks.incrementAndGet();
+                }
+                last = e;
+            }
+        }
+        throw new AssertionError("재시도 횟수(" + MAX_RETRIES + ")를 초과했습니다.", last);
+    }
+
+    private void assertStock(TransactionTemplate tx, List<Long> itemIds) {
+        for (Long itemId : itemIds) {
+            Integer stock = tx.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+            assertEquals("주문 수량만큼 재고가 줄어야 한다.", STOCK - BUYERS * CARTS_PER_BUYER, stock.intValue());
+        }
+    }
+
+    private List<Long> shuffled(List<Long> itemIds) {
+        List<Long> copy = new ArrayList<>(itemIds);
+        Collections.shuffle(copy, ThreadLocalRandom.current());
+        return copy;
+    }
+
+    private List<Long> createBooks(TransactionTemplate tx, String name) {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_CART; i++) {
+            String bookName = name + " " + i;
+            itemIds.add(tx.execute(status -> createBook(em, bookName, 10000, STOCK).getId()));
+        }
+        return itemIds;
+    }
+}
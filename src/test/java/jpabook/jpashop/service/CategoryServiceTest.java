@@ -0,0 +1,150 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.category.CategoryNode;
+import jpabook.jpashop.repository.item.ItemListDto;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static jpabook.jpashop.TestFixtures.createBook;
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class CategoryServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    CategoryService categoryService;
+    @Autowired
+    ItemStockService itemStockService;
+
+    @Test
+    public void 하위트리_상품조회_이동() throws Exception {
+
+        // given
+        Long rootId = categoryService.create("도서", null);
+        Long childId = categoryService.create("IT", rootId);
+        Long leafId = categoryService.create("JPA", childId);
+        Long otherRootId = categoryService.create("음반", null);
+
+        Book rootBook = createCategoryBook("도서 전체", rootId);
+        Book leafBook1 = createCategoryBook("JPA 1", leafId);
+        Book leafBook2 = createCategoryBook("JPA 2", leafId);
+        createCategoryBook("음반 전체", otherRootId);
+        em.flush();
+        itemStockService.enableHotStock(leafBook2.getId(), 2);
+        em.flush();
+        em.clear();
+
+        // when
+        List<ItemListDto> firstPage = categoryService.findSubtreeItems(rootId, null, 2);
+        List<ItemListDto> nextPage = categoryService.findSubtreeItems(rootId, firstPage.get(1).getId(), 2);
+
+        // then
+        assertEquals("하위 트리 전체의 상품이 ID 순서로 조회되어야 한다.",
+                List.of(rootBook.getId(), leafBook1.getId(), leafBook2.getId()),
+                itemIds(firstPage, nextPage));
+        assertEquals("Hot 상품 재고는 하위 카운터 합계여야 한다.", 10, nextPage.get(0).getStockQuantity());
+        assertEquals("다단계 하위 카테고리의 path", "/" + rootId + "/" + childId + "/", em.find(Category.class, leafId).getPath());
+
+        // when
+        categoryService.move(childId, otherRootId);
+        em.flush();
+        em.clear();
+
+        // then
+        Category leaf = em.find(Category.class, leafId);
+        assertEquals("이동한 카테고리의 하위도 path 가 변경되어야 한다.", "/" + otherRootId + "/" + childId + "/", leaf.getPath());
+        assertEquals(2, leaf.getDepth());
+        assertEquals("이동 후에는 이전 상위 트리에서 조회되지 않아야 한다.", 1, categoryService.findSubtreeItems(rootId, null, 10).size());
+        assertEquals("이동 후에는 새 상위 트리에서 조회되어야 한다.", 3, categoryService.findSubtreeItems(otherRootId, null, 10).size());
+
+        CategoryNode otherRoot = categoryService.findTree().stream()
+                .filter(n -> n.getId().equals(otherRootId))
+                .findFirst().orElseThrow();
+        assertEquals("캐시된 트리에도 이동이 반영되어야 한다.", childId, otherRoot.getChildren().get(0).getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 하위카테고리로_이동불가() throws Exception {
+        // given
+        Long rootId = categoryService.create("도서", null);
+        Long childId = categoryService.create("IT", rootId);
+
+        // when
+        categoryService.move(rootId, childId);
+
+        // then
+        fail("하위 카테고리 아래로 이동하면 예외가 발생해야 한다.");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 서로_하위로_동시이동() throws Exception {
+        // given - 각 이동은 별도 트랜잭션으로 커밋
+        Long aId = categoryService.create("동시이동 A", null);
+        Long bId = categoryService.create("동시이동 B", null);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when - A 를 B 하위로, B 를 A 하위로 동시에 이동
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (Long[] move : List.of(new Long[]{aId, bId}, new Long[]{bId, aId})) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    categoryService.move(move[0], move[1]);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int moved = 0;
+        for (Future<Boolean> future : futures) {
+            moved += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // then
+        Category a = em.find(Category.class, aId);
+        Category b = em.find(Category.class, bId);
+        assertEquals("먼저 실행된 이동만 성공해야 한다.", 1, moved);
+        assertTrue("순환이 생기지 않아야 한다.", a.isDescendantOf(b) != b.isDescendantOf(a));
+    }
+
+    private Book createCategoryBook(String name, Long categoryId) {
+        Book book = createBook(em, name, 10000, 10);
+        em.find(Category.class, categoryId).getItems().add(book);
+        return book;
+    }
+
+    @SafeVarargs
+    private static List<Long> itemIds(List<ItemListDto>... pages) {
+        return Arrays.stream(pages)
+                .flatMap(List::stream)
+                .map(ItemListDto::getId)
+                .collect(Collectors.toList());
+    }
+}
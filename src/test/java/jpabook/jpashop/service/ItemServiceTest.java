@@ -0,0 +1,88 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemType;
+import jpabook.jpashop.repository.item.ItemListDto;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class ItemServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    ItemStockService itemStockService;
+
+    @Test
+    public void 상품목록_Keyset페이징_종류검색() throws Exception {
+
+        // given
+        Long book1 = save(new Book(), "목록 JPA 1", 10);
+        Long album = save(new Album(), "목록 앨범", 10);
+        Long book2 = save(new Book(), "목록 JPA 2", 10);
+        Long lastBefore = book1 - 1;
+
+        // when
+        List<ItemListDto> firstPage = itemService.findItemPage(null, lastBefore, 2);
+        List<ItemListDto> nextPage = itemService.findItemPage(null, firstPage.get(1).getId(), 1);
+        List<ItemListDto> books = itemService.findItemPage(List.of(ItemType.BOOK), lastBefore, 10);
+
+        // then
+        assertEquals("상품 ID 순서로 페이지가 이어져야 한다.", List.of(book1, album, book2), ids(firstPage, nextPage));
+        assertEquals("종류 검색시 해당 종류만 조회되어야 한다.", List.of(book1, book2), ids(books));
+    }
+
+    @Test
+    public void 상품목록_Hot상품_재고() throws Exception {
+
+        // given
+        Long itemId = save(new Book(), "목록 Hot JPA", 100);
+        em.flush();
+        em.clear();
+        itemStockService.enableHotStock(itemId, 4);
+        em.flush();
+        em.clear();
+
+        // when
+        List<ItemListDto> items = itemService.findItemPage(null, itemId - 1, 1);
+
+        // then
+        assertTrue(items.get(0).isHotStock());
+        assertEquals("Hot 상품의 재고는 하위 카운터 합계이다.", 100, items.get(0).getStockQuantity());
+    }
+
+    private Long save(Item item, String name, int stockQuantity) {
+        item.setName(name);
+        item.setPrice(10000);
+        item.setStockQuantity(stockQuantity);
+        em.persist(item);
+        return item.getId();
+    }
+
+    @SafeVarargs
+    private static List<Long> ids(List<ItemListDto>... pages) {
+        List<Long> ids = new ArrayList<>();
+        for (List<ItemListDto> page : pages) {
+            ids.addAll(page.stream().map(ItemListDto::getId).collect(Collectors.toList()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,170 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jpabook.jpashop.TestFixtures.createBook;
+import static jpabook.jpashop.TestFixtures.createMember;
+import static org.junit.Assert.*;
+
+/*
+  - 같은 상품을 1 / 8 / 64 명이 동시에 주문할 때 초과 판매, 갱신 유실이 없는지 확인 (정확성만 검증, 처리량은 측정하지 않음)
+  - Hot 상품(재고 하위 카운터 분산)도 같은 결과인지 확인 (처리량 비교는 OrderStockBenchmark)
+  - 취소가 Hot 상품 상태를 읽은 뒤 일반 상품 전환이 커밋되어도 복구한 재고가 유실되지 않는지 확인
+  - 각 주문은 별도 트랜잭션으로 커밋되어야 하므로 @Transactional 을 사용하지 않음
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ItemStockConcurrencyTest {
+
+    private static final int STOCK = 200;
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    ItemStockService itemStockService;
+
+    @Test
+    public void 동시주문_1명() throws Exception {
+        assertNoOversell(1);
+    }
+
+    @Test
+    public void 동시주문_8명() throws Exception {
+        assertNoOversell(8);
+    }
+
+    @Test
+    public void 동시주문_64명() throws Exception {
+        assertNoOversell(64);
+    }
+
+    @Test
+    public void 동시주문_8명_Hot상품() throws Exception {
+        assertNoOversell(8, 16);
+    }
+
+    @Test
+    public void 동시주문_64명_Hot상품() throws Exception {
+        assertNoOversell(64, 16);
+    }
+
+    @Test
+    public void 주문취소중_Hot상품_해제() throws Exception {
+
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long memberId = tx.execute(status -> createMember(em, "취소 회원").getId());
+        Long itemId = tx.execute(status -> createBook(em, "취소 Hot JPA", 10000, STOCK).getId());
+        itemStockService.enableHotStock(itemId, 4);
+        Long orderId = orderService.order(memberId, itemId, 5);
+
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // when - 취소할 주문의 상품(Hot 상태)을 읽은 후, 다른 트랜잭션에서 일반 상품 전환을 커밋하고 취소
+        tx.executeWithoutResult(status -> {
+            Order order = em.find(Order.class, orderId);
+            order.getOrderItems().forEach(orderItem -> assertTrue(orderItem.getItem().isHotStock()));
+
+            requiresNew.executeWithoutResult(inner -> itemStockService.disableHotStock(itemId));
+            orderService.cancelOrder(orderId);
+        });
+
+        // then
+        Integer stock = tx.execute(status -> itemStockService.getStockQuantity(em.find(Item.class, itemId)));
+        assertEquals("취소한 수량이 일반 상품 재고로 복구되어야 한다.", STOCK, stock.intValue());
+    }
+
+    @Test
+    public void 일괄취소중_Hot상품_해제() throws Exception {
+
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long itemId = tx.execute(status -> createBook(em, "일괄취소 Hot JPA", 10000, STOCK).getId());
+        itemStockService.enableHotStock(itemId, 4);
+        itemStockService.disableHotStock(itemId);
+
+        // when - 일괄 취소가 일반 상품 전환 이전에 읽은 하위 카운터 수로 재고 복구
+        tx.executeWithoutResult(status -> itemStockService.addStock(itemId, 4, 5));
+
+        // then
+        Integer stock = tx.execute(status -> itemStockService.getStockQuantity(em.find(Item.class, itemId)));
+        assertEquals("복구한 수량이 일반 상품 재고에 더해져야 한다.", STOCK + 5, stock.intValue());
+    }
+
+    private void assertNoOversell(int buyers) throws Exception {
+        assertNoOversell(buyers, 0);
+    }
+
+    private void assertNoOversell(int buyers, int shardCount) throws Exception {
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        String label = buyers + (shardCount > 0 ? " Hot" + shardCount : "");
+        Long memberId = tx.execute(status -> createMember(em, "동시주문 회원 " + label).getId());
+        Long itemId = tx.execute(status -> createBook(em, "동시주문 JPA " + label, 10000, STOCK).getId());
+        if (shardCount > 0) {
+            itemStockService.enableHotStock(itemId, shardCount);
+        }
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                while (true) {
+                    try {
+                        orderService.order(memberId, itemId, 1);
+                        success.incrementAndGet();
+                    } catch (NotEnoughStockException e) {
+                        soldOut.incrementAndGet();
+                        return null;
+                    } catch (ConcurrencyFailureException e) {
+                        // Lock 대기 시간 초과 - 재시도
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        Integer stock = tx.execute(status -> itemStockService.getStockQuantity(em.find(Item.class, itemId)));
+
+        assertEquals("재고 수량만큼만 주문되어야 한다.", STOCK, success.get());
+        assertEquals("모든 구매자가 재고 부족으로 종료되어야 한다.", buyers, soldOut.get());
+        assertEquals("재고는 0 이어야 한다.", 0, stock.intValue());
+    }
+}
@@ -0,0 +1,80 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.InvalidRequestException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static jpabook.jpashop.TestFixtures.createBook;
+import static jpabook.jpashop.TestFixtures.createMember;
+import static org.junit.Assert.*;
+
+/*
+  - 비동기 접수 주문은 writer 스레드가 별도 트랜잭션으로 커밋하므로 @Transactional 을 사용하지 않음
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class OrderIntakeServiceTest {
+
+    @Autowired
+    OrderIntakeService orderIntakeService;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void 비동기주문_처리결과() throws Exception {
+
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long memberId = tx.execute(status -> createMember(em, "비동기 회원").getId());
+        Long itemId = tx.execute(status -> createBook(em, "비동기 JPA", 10000, 5).getId());
+
+        // when
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            trackingIds.add(orderIntakeService.submit(memberId, itemId, 1));
+        }
+        List<OrderIntakeStatus> statuses = awaitAll(trackingIds);
+
+        // then
+        long completed = statuses.stream().filter(s -> s.getState() == OrderIntakeStatus.State.COMPLETED).count();
+        long failed = statuses.stream().filter(s -> s.getState() == OrderIntakeStatus.State.FAILED).count();
+        Integer stock = tx.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+
+        assertEquals("재고 수량만큼만 주문되어야 한다.", 5, completed);
+        assertEquals("재고가 부족한 주문은 실패로 기록되어야 한다.", 2, failed);
+        assertEquals("재고는 0 이어야 한다.", 0, stock.intValue());
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void 비동기주문_수량검증() throws Exception {
+        orderIntakeService.submit(1L, 1L, 0);
+    }
+
+    private List<OrderIntakeStatus> awaitAll(List<String> trackingIds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<OrderIntakeStatus> statuses = new ArrayList<>();
+            for (String trackingId : trackingIds) {
+                statuses.add(orderIntakeService.findStatus(trackingId));
+            }
+            if (statuses.stream().noneMatch(s -> s.getState() == OrderIntakeStatus.State.QUEUED)) {
+                return statuses;
+            }
+            Thread.sleep(50);
+        }
+        fail("제한 시간 안에 모든 주문이 처리되어야 한다.");
+        return null;
+    }
+}
@@ -1,6 +1,6 @@
 package jpabook.jpashop.service;
 
-import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderStatus;
@@ -8,6 +8,8 @@ import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSort;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +18,10 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.List;
 
+import static jpabook.jpashop.TestFixtures.createBook;
+import static jpabook.jpashop.TestFixtures.createMember;
 import static org.junit.Assert.*;
 
 @RunWith(SpringRunner.class)
@@ -30,14 +35,16 @@ public class OrderServiceTest {
     OrderService orderService;
     @Autowired
     OrderRepository orderRepository;
+    @Autowired
+    OrderTotalBackfillService orderTotalBackfillService;
 
     @Test
     public void 상품주문() throws Exception {
 
         // given
-        Member member = createMember();
+        Member member = createMember(em, "회원1");
 
-        Book book = createBook("시골 JPA", 10000, 10);
+        Book book = createBook(em, "시골 JPA", 10000, 10);
 
         int orderCount = 2;
 
@@ -55,8 +62,8 @@ public class OrderServiceTest {
     @Test(expected = NotEnoughStockException.class)
     public void 상품주문_재고수량초과() throws Exception {
         // given
-        Member member = createMember();
-        Item item = createBook("시골 JPA", 10000, 10);
+        Member member = createMember(em, "회원1");
+        Item item = createBook(em, "시골 JPA", 10000, 10);
 
         int orderCount = 11;
 
@@ -71,8 +78,8 @@ public class OrderServiceTest {
     public void 주문취소() throws Exception {
 
         // given
-        Member member = createMember();
-        Book item = createBook("시골 JPA", 10000, 10);
+        Member member = createMember(em, "회원1");
+        Book item = createBook(em, "시골 JPA", 10000, 10);
 
         int orderCount = 2;
         Long orderId = orderService.order(member.getId(), item.getId(), orderCount);
@@ -87,20 +94,137 @@ public class OrderServiceTest {
         assertEquals("주문이 취소된 상품은 그만큼 재고가 증가해야된다.", 10, item.getStockQuantity());
     }
 
-    private Member createMember() {
-        Member member = new Member();
-        member.setName("회원1");
-        member.setAddress(new Address("서울", "경기", "216-0668"));
-        em.persist(member);
-        return member;
+    @Test
+    public void 일괄주문() throws Exception {
+
+        // given
+        Member member = createMember(em, "회원1");
+        Book book = createBook(em, "시골 JPA", 10000, 10);
+
+        List<OrderLine> lines = List.of(
+                new OrderLine(member.getId(), book.getId(), 3)
+                , new OrderLine(member.getId(), book.getId(), 20)
+                , new OrderLine(member.getId(), -1L, 1)
+                , new OrderLine(member.getId(), book.getId(), 7)
+        );
+
+        // when
+        List<OrderLineResult> results = orderService.orderBatch(lines);
+
+        // then
+        assertTrue("재고 안의 주문은 성공해야 한다.", results.get(0).isSuccess());
+        assertFalse("재고를 넘는 주문은 실패해야 한다.", results.get(1).isSuccess());
+        assertFalse("없는 상품 주문은 실패해야 한다.", results.get(2).isSuccess());
+        assertTrue("실패한 줄이 있어도 나머지 주문은 성공해야 한다.", results.get(3).isSuccess());
+        assertEquals("성공한 주문 수량만큼 재고가 줄어야한다.", 0, book.getStockQuantity());
+        assertEquals("주문 가격은 가격 * 수량이다.", 10000 * 7, orderRepository.findOne(results.get(3).getOrderId()).getTotalPrice());
+    }
+
+    @Test
+    public void 일괄취소() throws Exception {
+
+        // given
+        Member member = createMember(em, "회원1");
+        Book book = createBook(em, "시골 JPA", 10000, 10);
+
+        Long orderId1 = orderService.order(member.getId(), book.getId(), 2);
+        Long orderId2 = orderService.order(member.getId(), book.getId(), 3);
+        Long orderId3 = orderService.order(member.getId(), book.getId(), 4);
+        orderRepository.findOne(orderId2).getDelivery().setDeliveryStatus(DeliveryStatus.COMP);
+        em.flush();
+        em.clear();
+
+        // when
+        BulkCancelResult result = orderService.cancelOrders(List.of(orderId1, orderId2, orderId3, orderId3, -1L));
+        BulkCancelResult again = orderService.cancelOrders(List.of(orderId1));
+        em.clear();
+
+        // then
+        assertEquals("배송 전 주문만 취소되어야 한다.", List.of(orderId1, orderId3), result.getCanceledOrderIds());
+        assertEquals("배송완료 / 없는 주문은 건너뛰어야 한다.", 2, result.getSkipped().size());
+        assertEquals("주문 취소시 상태는 CANCEL이다.", OrderStatus.CANCEL, orderRepository.findOne(orderId3).getStatus());
+        assertEquals("배송완료된 주문은 취소되지 않아야 한다.", OrderStatus.ORDER, orderRepository.findOne(orderId2).getStatus());
+        assertEquals("취소된 주문 수량만큼만 재고가 증가해야 한다.", 10 - 3, em.find(Book.class, book.getId()).getStockQuantity());
+        assertTrue("이미 취소된 주문은 다시 취소되지 않아야 한다.", again.getCanceledOrderIds().isEmpty());
+    }
+
+    @Test
+    public void 주문금액_검색_정렬() throws Exception {
+
+        // given
+        Member member = createMember(em, "회원1");
+        Book book = createBook(em, "시골 JPA", 10000, 10);
+
+        Long smallOrderId = orderService.order(member.getId(), book.getId(), 1);
+        Long bigOrderId = orderService.order(member.getId(), book.getId(), 5);
+        Long middleOrderId = orderService.order(member.getId(), book.getId(), 3);
+        em.flush();
+        em.clear();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberId(member.getId());
+        orderSearch.setMinTotalPrice(20000);
+        orderSearch.setSort(OrderSort.TOTAL_PRICE_DESC);
+
+        // when
+        List<Order> orders = orderService.findOrders(orderSearch, null, 10);
+
+        // then
+        assertEquals("주문 금액 조건 이상의 주문만 조회되어야 한다.", 2, orders.size());
+        assertEquals("주문 금액 높은 순으로 정렬되어야 한다.", bigOrderId, orders.get(0).getId());
+        assertEquals(middleOrderId, orders.get(1).getId());
+        assertEquals("주문 상품 종류 수", 1, orderRepository.findOne(smallOrderId).getLineCount());
+    }
+
+    @Test
+    public void 주문검색_Keyset_페이징() throws Exception {
+
+        // given
+        Member member = createMember(em, "회원1");
+        Book book = createBook(em, "시골 JPA", 10000, 10);
+
+        Long firstOrderId = orderService.order(member.getId(), book.getId(), 1);
+        Long secondOrderId = orderService.order(member.getId(), book.getId(), 1);
+        Long thirdOrderId = orderService.order(member.getId(), book.getId(), 1);
+        em.flush();
+        em.clear();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberId(member.getId());
+        orderSearch.setOrderStatus(OrderStatus.ORDER);
+
+        // when - 주문 일시 기준 최신 주문 순 (주문 일시가 같으면 주문 ID 역순)
+        List<Order> firstPage = orderService.findOrders(orderSearch, null, 2);
+        List<Order> nextPage = orderService.findOrders(orderSearch, firstPage.get(firstPage.size() - 1).getId(), 2);
+
+        // then
+        assertEquals("첫 페이지는 limit 건만 조회되어야 한다.", 2, firstPage.size());
+        assertEquals(thirdOrderId, firstPage.get(0).getId());
+        assertEquals(secondOrderId, firstPage.get(1).getId());
+        assertEquals("다음 페이지는 이전 페이지 이후 주문만 조회되어야 한다.", 1, nextPage.size());
+        assertEquals(firstOrderId, nextPage.get(0).getId());
     }
 
-    private Book createBook(String name, int price, int stockQuantity) {
-        Book book = new Book();
-        book.setName(name);
-        book.setPrice(price);
-        book.setStockQuantity(stockQuantity);
-        em.persist(book);
-        return book;
+    @Test
+    public void 주문금액_Backfill() throws Exception {
+
+        // given
+        Member member = createMember(em, "회원1");
+        Book book = createBook(em, "시골 JPA", 10000, 10);
+        Long orderId = orderService.order(member.getId(), book.getId(), 4);
+        em.flush();
+        em.createNativeQuery("update orders set total_price = 0, line_count = 0 where order_id = :orderId")
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+        em.clear();
+
+        // when
+        orderTotalBackfillService.backfill();
+        em.clear();
+
+        // then
+        Order getOrder = orderRepository.findOne(orderId);
+        assertEquals("주문 가격은 가격 * 수량이다.", 10000 * 4, getOrder.getTotalPrice());
+        assertEquals("주문 상품 종류 수", 1, getOrder.getLineCount());
     }
 }
\ No newline at end of file
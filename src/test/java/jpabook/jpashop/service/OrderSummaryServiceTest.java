@@ -0,0 +1,84 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
+import jpabook.jpashop.domain.item.Book;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static jpabook.jpashop.TestFixtures.createBook;
+import static jpabook.jpashop.TestFixtures.createMember;
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class OrderSummaryServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    OrderSummaryService orderSummaryService;
+
+    @Test
+    public void 주문요약_주문_취소_회원명변경() throws Exception {
+
+        // given
+        Member member = createMember(em, "회원1");
+        Book book = createBook(em, "요약 JPA", 10000, 10);
+
+        // when
+        Long orderId = orderService.order(member.getId(), book.getId(), 3);
+        em.flush();
+        em.clear();
+
+        // then
+        OrderSummary summary = em.find(OrderSummary.class, orderId);
+        assertEquals("주문 생성시 요약도 함께 저장되어야 한다.", OrderStatus.ORDER, summary.getStatus());
+        assertEquals("회원명이 저장되어야 한다.", "회원1", summary.getMemberName());
+        assertEquals("주문 가격은 가격 * 수량이다.", 30000, summary.getTotalPrice());
+        assertEquals("요약 상품 목록", "요약 JPA x3", summary.getItems());
+
+        // when
+        orderService.cancelOrder(orderId);
+        memberService.update(member.getId(), "회원2");
+        em.flush();
+        em.clear();
+
+        // then
+        summary = em.find(OrderSummary.class, orderId);
+        assertEquals("주문 취소시 요약 상태도 CANCEL이다.", OrderStatus.CANCEL, summary.getStatus());
+        assertEquals("회원명 변경이 요약에 반영되어야 한다.", "회원2", summary.getMemberName());
+    }
+
+    @Test
+    public void 주문요약_재생성() throws Exception {
+
+        // given
+        Member member = createMember(em, "회원1");
+        Book book = createBook(em, "요약 JPA", 10000, 10);
+        Long orderId = orderService.order(member.getId(), book.getId(), 2);
+        em.flush();
+        em.clear();
+
+        // when
+        long count = orderSummaryService.rebuild();
+        em.clear();
+
+        // then
+        Long orderCount = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+        assertEquals("모든 주문의 요약이 다시 생성되어야 한다.", orderCount.longValue(), count);
+        assertEquals("재생성된 요약도 주문 가격이 같아야 한다.", 20000, em.find(OrderSummary.class, orderId).getTotalPrice());
+    }
+}